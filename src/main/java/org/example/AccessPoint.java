@@ -0,0 +1,115 @@
+package org.example;
+
+import java.util.Arrays;
+
+// Одна точка доступа (BSS) сети: канал, диапазон и короткая история уровня сигнала.
+// Неизменяемый снимок: новое измерение даёт новый экземпляр, поэтому читать его можно из любого потока.
+// История — окно фиксированного размера на примитивах, память на точку не растёт
+public final class AccessPoint {
+    public static final int HISTORY_SIZE = 8;
+    private static final byte[] NO_SAMPLES = new byte[0];
+
+    private final String bssid;
+    private final int frequencyMhz;
+    private final int channel;
+    private final Band band;
+    private final Security security;
+    // Стандарт точки ("802.11ax"), если его сообщает система (netsh), иначе null
+    private final String radioType;
+
+    // От старых к новым, не больше HISTORY_SIZE
+    private final byte[] samples;
+    private final int smoothedSignal;
+
+    public AccessPoint(String bssid, int frequencyMhz, Security security) {
+        this(bssid, frequencyMhz, security, null);
+    }
+
+    public AccessPoint(String bssid, int frequencyMhz, Security security, String radioType) {
+        this(bssid, frequencyMhz, security, radioType, NO_SAMPLES);
+    }
+
+    private AccessPoint(String bssid, int frequencyMhz, Security security, String radioType, byte[] samples) {
+        this.bssid = bssid;
+        this.frequencyMhz = frequencyMhz;
+        this.channel = channelOf(frequencyMhz);
+        this.band = Band.of(frequencyMhz);
+        this.security = security;
+        this.radioType = radioType;
+        this.samples = samples;
+        this.smoothedSignal = average(samples);
+    }
+
+    public String getBssid() { return bssid; }
+    public int getFrequencyMhz() { return frequencyMhz; }
+    public int getChannel() { return channel; }
+    public Band getBand() { return band; }
+    public Security getSecurity() { return security; }
+    public String getRadioType() { return radioType; }
+    public boolean is5G() { return band != Band.GHZ_2_4; }
+
+    // === История сигнала ===
+    public AccessPoint withSample(int signal) {
+        int keep = Math.min(samples.length, HISTORY_SIZE - 1);
+        byte[] next = new byte[keep + 1];
+        System.arraycopy(samples, samples.length - keep, next, 0, keep);
+        next[keep] = (byte) Math.min(100, Math.max(0, signal));
+        return new AccessPoint(bssid, frequencyMhz, security, radioType, next);
+    }
+
+    public int getSignal() {
+        return samples.length == 0 ? 0 : samples[samples.length - 1];
+    }
+
+    // Среднее по окну: одно шумное измерение не дёргает отображение и выбор точки
+    public int getSmoothedSignal() {
+        return smoothedSignal;
+    }
+
+    // Копия истории от старых к новым
+    public int[] getHistory() {
+        int[] out = new int[samples.length];
+        for (int i = 0; i < samples.length; i++) out[i] = samples[i];
+        return out;
+    }
+
+    public int getSampleCount() {
+        return samples.length;
+    }
+
+    private static int average(byte[] samples) {
+        if (samples.length == 0) return 0;
+        int sum = 0;
+        for (byte s : samples) sum += s;
+        return Math.round((float) sum / samples.length);
+    }
+
+    // === Частоты и каналы ===
+    // Границы диапазонов — как в Band.of. 4.9 GHz (802.11j) нумеруется от 4000 МГц: 4920 → 184;
+    // в 6 GHz канал 2 (5935 МГц) стоит особняком, остальные считаются от 5950 МГц
+    public static int channelOf(int mhz) {
+        if (mhz == 2484) return 14;
+        if (mhz >= 2412 && mhz < 2484) return (mhz - 2407) / 5;
+        if (mhz >= Band.MIN_6GHZ_MHZ) {
+            if (mhz == Band.MIN_6GHZ_MHZ) return 2;
+            return mhz >= 5955 && mhz <= 7115 ? (mhz - 5950) / 5 : 0;
+        }
+        if (mhz >= 5000) return (mhz - 5000) / 5;
+        if (mhz >= Band.MIN_5GHZ_MHZ) return (mhz - 4000) / 5;
+        return 0;
+    }
+
+    public static int frequencyOf(int channel, String band) {
+        if (band != null && band.startsWith("6")) return channel == 2 ? Band.MIN_6GHZ_MHZ : 5950 + channel * 5;
+        if (channel == 14) return 2484;
+        if (channel >= 1 && channel <= 13 && (band == null || band.startsWith("2"))) return 2407 + channel * 5;
+        // Каналы 182-196 в 5 GHz — участок 4.9 GHz
+        if (channel >= 182 && channel <= 196) return 4000 + channel * 5;
+        return channel > 0 ? 5000 + channel * 5 : 0;
+    }
+
+    @Override
+    public String toString() {
+        return bssid + " ch" + channel + " " + Arrays.toString(getHistory());
+    }
+}
@@ -0,0 +1,48 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class AirportScanBackend implements ScanBackend {
+    private static final String AIRPORT =
+            "/System/Library/PrivateFrameworks/Apple80211.framework/Versions/Current/Resources/airport";
+    private static final Pattern BSSID = Pattern.compile("([0-9a-fA-F]{2}:){5}[0-9a-fA-F]{2}");
+
+    @Override
+    public String getName() { return "airport"; }
+
+    @Override
+    public List<WifiNetwork> scan(Consumer<String> progress) throws Exception {
+        progress.accept("Сканирование на macOS: используем airport");
+        return CommandRunner.shared().read(15, reader -> parse(new BufferedReader(reader), progress), AIRPORT, "-s");
+    }
+
+    // === Разбор airport -s: SSID выровнен вправо и может содержать пробелы, поэтому ищем BSSID ===
+    public static List<WifiNetwork> parse(BufferedReader reader, Consumer<String> progress) throws IOException {
+        List<WifiNetwork> networks = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null && !Thread.currentThread().isInterrupted()) {
+            Matcher m = BSSID.matcher(line);
+            if (!m.find()) continue;
+
+            String ssid = line.substring(0, m.start()).trim();
+            String[] rest = line.substring(m.end()).trim().split("\\s+", 5);
+            if (ssid.isEmpty() || rest.length < 2) continue;
+
+            int rssi;
+            try { rssi = Integer.parseInt(rest[0]); } catch (NumberFormatException e) { continue; }
+            int signal = Math.min(100, Math.max(0, 2 * (rssi + 100)));
+            int channel = ScanBackend.parseSignal(rest[1].split(",")[0]);
+            String security = rest.length > 4 ? rest[4] : "Unknown";
+            if (security.startsWith("NONE")) security = "Open";
+
+            networks.add(new WifiNetwork(ssid, signal, security, AccessPoint.frequencyOf(channel, null), m.group()));
+            progress.accept("Обнаружена: " + ssid + " [" + signal + "%]");
+        }
+        return networks;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example;
+
+public enum Band {
+    GHZ_2_4("2.4 GHz"),
+    GHZ_5("5 GHz"),
+    GHZ_6("6 GHz");
+
+    private static final Band[] VALUES = values();
+    // Подписи для всех сочетаний диапазонов сети: индекс — битовая маска 1 << ordinal
+    private static final String[] LABELS = new String[1 << VALUES.length];
+
+    static {
+        for (int mask = 0; mask < LABELS.length; mask++) {
+            StringBuilder sb = new StringBuilder();
+            for (Band b : VALUES) {
+                if ((mask & b.mask()) == 0) continue;
+                if (sb.length() > 0) sb.append('/');
+                sb.append(b.label, 0, b.label.indexOf(' '));
+            }
+            LABELS[mask] = mask == 0 ? "N/A" : sb.append(" GHz").toString();
+        }
+    }
+
+    private final String label;
+
+    Band(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public int mask() { return 1 << ordinal(); }
+
+    // Нижние центральные частоты диапазонов. 5 GHz начинается с японского/служебного
+    // участка 4.9 GHz (802.11j), 6 GHz — с канала 2 (5935 МГц); ниже — каналы 5 GHz до 5925 МГц.
+    // Те же границы использует AccessPoint.channelOf
+    public static final int MIN_5GHZ_MHZ = 4900;
+    public static final int MIN_6GHZ_MHZ = 5935;
+
+    public static Band of(int mhz) {
+        if (mhz >= MIN_6GHZ_MHZ) return GHZ_6;
+        if (mhz >= MIN_5GHZ_MHZ) return GHZ_5;
+        return GHZ_2_4;
+    }
+
+    // "2.4 GHz", "5 GHz", "2.4/5 GHz" ... — всегда один и тот же экземпляр строки
+    public static String labelOf(int mask) {
+        return LABELS[mask & (LABELS.length - 1)];
+    }
+
+    @Override
+    public String toString() { return label; }
+}
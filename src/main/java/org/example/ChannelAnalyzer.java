@@ -0,0 +1,156 @@
+package org.example;
+
+import java.util.*;
+
+// Загрузка каналов 2.4/5/6 GHz по результатам сканов. Каждая точка доступа вносит в свой
+// канал вес, равный уровню сигнала (0..100), а в 2.4 GHz — ещё и в соседние каналы:
+// полоса 22 МГц при шаге 5 МГц перекрывает ±4 канала с убывающей долей.
+// Счётчики обновляются по ScanDiff: вклад изменившейся сети вычитается и добавляется заново,
+// весь снимок не пересчитывается. Суммы целые, поэтому вычитание не копит погрешность.
+// Работает на EDT, как и модели списка и таблицы
+public class ChannelAnalyzer {
+    // Доли перекрытия в 2.4 GHz в пятых: свой канал 5/5, соседний 4/5 ... через четыре 1/5
+    private static final int[] KERNEL_24 = {5, 4, 3, 2, 1};
+    private static final int UNIT = KERNEL_24[0];
+
+    // Кандидаты для рекомендации: неперекрывающиеся 1/6/11, 20-МГц каналы 5 GHz, PSC-каналы 6 GHz
+    private static final int[] CANDIDATES_24 = {1, 6, 11};
+    private static final int[] CANDIDATES_5 = {
+            36, 40, 44, 48, 52, 56, 60, 64, 100, 104, 108, 112, 116, 120, 124, 128,
+            132, 136, 140, 144, 149, 153, 157, 161, 165
+    };
+    private static final int[] CANDIDATES_6 = {
+            5, 21, 37, 53, 69, 85, 101, 117, 133, 149, 165, 181, 197, 213, 229
+    };
+
+    // Вклад одной точки: диапазон, канал, вес
+    private record Contribution(Band band, int channel, int weight) { }
+
+    // Счётчики одного диапазона, индекс — номер канала
+    private static final class BandLoad {
+        final int[] aps;
+        final int[] occupancy;
+        final int[] overlap;
+        final int[] candidates;
+
+        BandLoad(int channels, int[] candidates) {
+            this.aps = new int[channels + 1];
+            this.occupancy = new int[channels + 1];
+            this.overlap = new int[channels + 1];
+            this.candidates = candidates;
+        }
+    }
+
+    private final BandLoad[] bands = {
+            new BandLoad(14, CANDIDATES_24),
+            new BandLoad(177, CANDIDATES_5),
+            new BandLoad(233, CANDIDATES_6)
+    };
+    private final Map<String, Contribution[]> byNetwork = new HashMap<>();
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    public void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    // === Обновление (EDT) ===
+    public void apply(ScanDiff diff) {
+        if (diff.isEmpty()) return;
+        for (WifiNetwork n : diff.getRemoved()) remove(n.getKey());
+        for (WifiNetwork n : diff.getChanged()) {
+            remove(n.getKey());
+            add(n);
+        }
+        for (WifiNetwork n : diff.getAdded()) {
+            remove(n.getKey());
+            add(n);
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    public void clear() {
+        byNetwork.clear();
+        for (BandLoad load : bands) {
+            Arrays.fill(load.aps, 0);
+            Arrays.fill(load.occupancy, 0);
+            Arrays.fill(load.overlap, 0);
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    private void add(WifiNetwork n) {
+        List<AccessPoint> points = n.getAccessPoints();
+        Contribution[] parts = new Contribution[points.size()];
+        int count = 0;
+        for (AccessPoint ap : points) {
+            BandLoad load = bands[ap.getBand().ordinal()];
+            int ch = ap.getChannel();
+            if (ch <= 0 || ch >= load.aps.length) continue;
+            Contribution c = new Contribution(ap.getBand(), ch, Math.max(1, ap.getSmoothedSignal()));
+            apply(c, 1);
+            parts[count++] = c;
+        }
+        byNetwork.put(n.getKey(), count == parts.length ? parts : Arrays.copyOf(parts, count));
+    }
+
+    private void remove(String key) {
+        Contribution[] parts = byNetwork.remove(key);
+        if (parts == null) return;
+        for (Contribution c : parts) apply(c, -1);
+    }
+
+    private void apply(Contribution c, int sign) {
+        BandLoad load = bands[c.band().ordinal()];
+        load.aps[c.channel()] += sign;
+        load.occupancy[c.channel()] += sign * c.weight();
+        if (c.band() != Band.GHZ_2_4) {
+            load.overlap[c.channel()] += sign * c.weight() * UNIT;
+            return;
+        }
+        for (int d = -(KERNEL_24.length - 1); d < KERNEL_24.length; d++) {
+            int ch = c.channel() + d;
+            if (ch >= 1 && ch < load.overlap.length) load.overlap[ch] += sign * c.weight() * KERNEL_24[Math.abs(d)];
+        }
+    }
+
+    // === Чтение ===
+    // Каналы для графика по возрастанию: кандидаты и занятые, в 2.4 GHz — все 1..13
+    public int[] channels(Band band) {
+        BandLoad load = bands[band.ordinal()];
+        BitSet set = new BitSet(load.aps.length);
+        for (int ch : load.candidates) set.set(ch);
+        if (band == Band.GHZ_2_4) set.set(1, 14);
+        for (int ch = 1; ch < load.aps.length; ch++) {
+            if (load.aps[ch] > 0) set.set(ch);
+        }
+        return set.stream().toArray();
+    }
+
+    public int apCount(Band band, int channel) {
+        BandLoad load = bands[band.ordinal()];
+        return channel > 0 && channel < load.aps.length ? load.aps[channel] : 0;
+    }
+
+    // Сумма сигналов точек на самом канале
+    public int occupancy(Band band, int channel) {
+        BandLoad load = bands[band.ordinal()];
+        return channel > 0 && channel < load.occupancy.length ? load.occupancy[channel] : 0;
+    }
+
+    // Занятость с учётом перекрытия соседних каналов, в тех же единицах, что и occupancy
+    public int congestion(Band band, int channel) {
+        BandLoad load = bands[band.ordinal()];
+        return channel > 0 && channel < load.overlap.length ? load.overlap[channel] / UNIT : 0;
+    }
+
+    // Наименее загруженный канал-кандидат; при равенстве — с меньшим числом точек, затем меньший номер
+    public int recommend(Band band) {
+        BandLoad load = bands[band.ordinal()];
+        int best = load.candidates[0];
+        for (int ch : load.candidates) {
+            int c = Integer.compare(load.overlap[ch], load.overlap[best]);
+            if (c < 0 || (c == 0 && load.aps[ch] < load.aps[best])) best = ch;
+        }
+        return best;
+    }
+}
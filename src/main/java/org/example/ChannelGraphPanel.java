@@ -0,0 +1,103 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+
+// График загрузки каналов одного диапазона: столбец на канал, высота — занятость с учётом
+// перекрытия, над столбцом число точек. Рекомендуемый канал выделен.
+// Перерисовывается по событию ChannelAnalyzer; список каналов запоминается до следующего события
+public class ChannelGraphPanel extends JComponent {
+    private static final Color LOW = new Color(52, 199, 89);
+    private static final Color MEDIUM = new Color(255, 149, 0);
+    private static final Color HIGH = new Color(255, 59, 48);
+    private static final Color RECOMMENDED = new Color(0, 122, 255);
+    private static final Color AXIS = new Color(90, 90, 90);
+    private static final Color TEXT = new Color(173, 181, 189);
+    private static final Font FONT = new Font("Segoe UI", Font.PLAIN, 11);
+
+    private final ChannelAnalyzer analyzer;
+    private final String recommendLabel;
+    private Band band = Band.GHZ_2_4;
+    private int[] channels;
+
+    public ChannelGraphPanel(ChannelAnalyzer analyzer, String recommendLabel) {
+        this.analyzer = analyzer;
+        this.recommendLabel = recommendLabel;
+        setPreferredSize(new Dimension(360, 150));
+        setFont(FONT);
+        analyzer.addChangeListener(() -> {
+            channels = null;
+            repaint();
+        });
+    }
+
+    public void setBand(Band band) {
+        this.band = band;
+        channels = null;
+        repaint();
+    }
+
+    public Band getBand() { return band; }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (channels == null) channels = analyzer.channels(band);
+        int[] chs = channels;
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setFont(FONT);
+        FontMetrics fm = g2.getFontMetrics();
+
+        int recommended = analyzer.recommend(band);
+        int w = getWidth(), h = getHeight();
+        int top = fm.getHeight() * 2 + 4;
+        int bottom = h - fm.getHeight() - 4;
+        int plotH = Math.max(1, bottom - top);
+
+        g2.setColor(TEXT);
+        g2.drawString(band.getLabel() + " • " + recommendLabel + " " + recommended, 4, fm.getAscent());
+
+        int max = 1;
+        for (int ch : chs) max = Math.max(max, analyzer.congestion(band, ch));
+
+        g2.setColor(AXIS);
+        g2.drawLine(0, bottom, w, bottom);
+        if (chs.length == 0) {
+            g2.dispose();
+            return;
+        }
+
+        float slot = (float) w / chs.length;
+        int barW = Math.max(2, (int) (slot * 0.7f));
+        // Подписи каналов прореживаются, чтобы не наезжали друг на друга
+        int labelEvery = Math.max(1, (int) Math.ceil(fm.stringWidth("000") / slot));
+        for (int i = 0; i < chs.length; i++) {
+            int ch = chs[i];
+            int load = analyzer.congestion(band, ch);
+            int x = (int) (i * slot + (slot - barW) / 2);
+            int barH = load == 0 ? 0 : Math.max(2, load * plotH / max);
+            float ratio = (float) load / max;
+            g2.setColor(ratio < 0.34f ? LOW : ratio < 0.67f ? MEDIUM : HIGH);
+            g2.fillRect(x, bottom - barH, barW, barH);
+
+            if (ch == recommended) {
+                g2.setColor(RECOMMENDED);
+                g2.drawRect(x - 1, top, barW + 1, plotH);
+            }
+
+            int aps = analyzer.apCount(band, ch);
+            g2.setColor(TEXT);
+            if (aps > 0) {
+                String count = Integer.toString(aps);
+                g2.drawString(count, x + (barW - fm.stringWidth(count)) / 2, bottom - barH - 2);
+            }
+            if (i % labelEvery == 0 || ch == recommended) {
+                String label = Integer.toString(ch);
+                g2.setColor(ch == recommended ? RECOMMENDED : TEXT);
+                g2.drawString(label, x + (barW - fm.stringWidth(label)) / 2, h - fm.getDescent() - 2);
+            }
+        }
+        g2.dispose();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example;
+
+public final class CommandResult {
+    private final int exitCode;
+    private final String output;
+    private final boolean timedOut;
+
+    public CommandResult(int exitCode, String output, boolean timedOut) {
+        this.exitCode = exitCode;
+        this.output = output;
+        this.timedOut = timedOut;
+    }
+
+    public int getExitCode() { return exitCode; }
+    public String getOutput() { return output; }
+    public boolean isTimedOut() { return timedOut; }
+    public boolean isSuccess() { return !timedOut && exitCode == 0; }
+
+    @Override
+    public String toString() {
+        return timedOut ? "timeout" : String.valueOf(exitCode);
+    }
+}
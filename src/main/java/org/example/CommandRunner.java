@@ -0,0 +1,176 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// Единый слой запуска внешних команд для сканера и коннектора.
+// Одна модель таймаута и отмены: по истечении срока или при прерывании потока
+// убивается всё дерево процессов. Число одновременных запусков ограничено на каждую утилиту;
+// долгоживущие мониторы событий под ограничение не попадают, иначе они занимали бы разрешения
+// коротких запросов на всё время своей работы
+public class CommandRunner {
+    private static final CommandRunner SHARED = new CommandRunner();
+
+    private static final Map<String, Integer> LIMITS = Map.of("nmcli", 2, "netsh", 1, "ping", 4);
+    private static final int DEFAULT_LIMIT = 4;
+    private static final long DRAIN_MILLIS = 200;
+
+    public interface OutputReader<T> {
+        T read(Reader stdout) throws IOException;
+    }
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "CommandRunner");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public static CommandRunner shared() { return SHARED; }
+
+    // === Запуск с полным выводом (stdout + stderr) ===
+    // timeoutSec <= 0 — без срока (долгоживущие процессы, завершаются отменой).
+    // По таймауту результат содержит вывод, прочитанный до остановки процесса
+    public CommandResult run(long timeoutSec, String... cmd) {
+        return run(timeoutSec, null, cmd);
+    }
+
+    public CommandResult run(long timeoutSec, Consumer<String> lines, String... cmd) {
+        return run(true, timeoutSec, lines, cmd);
+    }
+
+    // === Мониторы событий (nmcli monitor, gdbus monitor): вне ограничения на утилиту ===
+    public CommandResult monitor(long timeoutSec, Consumer<String> lines, String... cmd) {
+        return run(false, timeoutSec, lines, cmd);
+    }
+
+    public Future<CommandResult> monitorAsync(long timeoutSec, Consumer<String> lines, String... cmd) {
+        return executor.submit(() -> monitor(timeoutSec, lines, cmd));
+    }
+
+    private CommandResult run(boolean limited, long timeoutSec, Consumer<String> lines, String... cmd) {
+        StringBuffer out = new StringBuffer();
+        try {
+            Completed<String> done = execute(List.of(cmd), timeoutSec, limited, true, stdout -> {
+                BufferedReader r = new BufferedReader(stdout);
+                String line;
+                while ((line = r.readLine()) != null) {
+                    out.append(line).append('\n');
+                    if (lines != null) lines.accept(line);
+                }
+                return out.toString();
+            });
+            return new CommandResult(done.exitCode, done.value != null ? done.value : out.toString(), done.timedOut);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new CommandResult(-1, out.toString(), true);
+        } catch (IOException e) {
+            return new CommandResult(-1, e.getMessage(), false);
+        }
+    }
+
+    // === Потоковый разбор stdout, например парсером сканера ===
+    public <T> T read(long timeoutSec, OutputReader<T> reader, String... cmd)
+            throws IOException, InterruptedException, TimeoutException {
+        Completed<T> done = execute(List.of(cmd), timeoutSec, true, false, reader);
+        if (done.timedOut) throw new TimeoutException(cmd[0] + ": превышено время ожидания");
+        return done.value;
+    }
+
+    // === Фоновые задачи: отмена Future прерывает поток и убивает запущенный им процесс ===
+    public Future<CommandResult> runAsync(long timeoutSec, Consumer<String> lines, String... cmd) {
+        return executor.submit(() -> run(timeoutSec, lines, cmd));
+    }
+
+    public Future<?> submit(Runnable task) {
+        return executor.submit(task);
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    // === Ядро ===
+    private record Completed<T>(T value, int exitCode, boolean timedOut) {}
+
+    private <T> Completed<T> execute(List<String> cmd, long timeoutSec, boolean limited, boolean mergeStderr,
+                                     OutputReader<T> reader) throws IOException, InterruptedException {
+        long deadline = timeoutSec > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSec) : Long.MAX_VALUE;
+        Semaphore semaphore = limited
+                ? permits.computeIfAbsent(tool(cmd), t -> new Semaphore(LIMITS.getOrDefault(t, DEFAULT_LIMIT)))
+                : null;
+        if (semaphore != null && !semaphore.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+            return new Completed<>(null, -1, true);
+        }
+
+        try {
+            ProcessBuilder pb = new ProcessBuilder(cmd);
+            if (mergeStderr) pb.redirectErrorStream(true); else pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+            Process p = pb.start();
+
+            // Вывод читается параллельно с ожиданием, иначе зависшая команда держит поток бесконечно
+            Future<T> pump = executor.submit(() ->
+                    reader.read(new InputStreamReader(p.getInputStream(), Charset.defaultCharset())));
+            try {
+                T value = pump.get(remaining(deadline), TimeUnit.NANOSECONDS);
+                if (!p.waitFor(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                    killTree(p);
+                    return new Completed<>(value, -1, true);
+                }
+                return new Completed<>(value, p.exitValue(), false);
+            } catch (TimeoutException e) {
+                killTree(p);
+                drain(pump, p);
+                return new Completed<>(null, -1, true);
+            } catch (InterruptedException e) {
+                killTree(p);
+                pump.cancel(true);
+                closeOutput(p);
+                throw e;
+            } catch (ExecutionException e) {
+                killTree(p);
+                closeOutput(p);
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException io) throw io;
+                throw new IOException(cause);
+            }
+        } finally {
+            if (semaphore != null) semaphore.release();
+        }
+    }
+
+    private static void killTree(Process p) {
+        p.descendants().forEach(ProcessHandle::destroyForcibly);
+        p.destroyForcibly();
+    }
+
+    // После остановки процесса даём насосу дочитать то, что уже лежит в канале,
+    // затем закрываем поток — это снимает чтение, если канал держит кто-то ещё
+    private static void drain(Future<?> pump, Process p) {
+        try {
+            pump.get(DRAIN_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+        }
+        pump.cancel(true);
+        closeOutput(p);
+    }
+
+    private static void closeOutput(Process p) {
+        try { p.getInputStream().close(); } catch (IOException ignored) {}
+    }
+
+    private static long remaining(long deadline) {
+        return deadline == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static String tool(List<String> cmd) {
+        String exe = cmd.get(0);
+        int slash = Math.max(exe.lastIndexOf('/'), exe.lastIndexOf('\\'));
+        return exe.substring(slash + 1).toLowerCase();
+    }
+}
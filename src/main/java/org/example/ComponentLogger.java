@@ -0,0 +1,29 @@
+package org.example;
+
+import java.util.function.Consumer;
+
+// Логгер компонента: уровень записи выбирает вызывающий, а не угадывает журнал по тексту.
+// Остаётся Consumer<String>, чтобы его можно было отдать туда, где ждут построчный вывод
+// (вывод утилит, прогресс бэкенда) — такие строки пишутся как INFO
+@FunctionalInterface
+public interface ComponentLogger extends Consumer<String> {
+    ComponentLogger NONE = (level, message) -> { };
+
+    void log(LogLevel level, String message);
+
+    @Override
+    default void accept(String message) { log(LogLevel.INFO, message); }
+
+    default void info(String message) { log(LogLevel.INFO, message); }
+    default void success(String message) { log(LogLevel.SUCCESS, message); }
+    default void warn(String message) { log(LogLevel.WARNING, message); }
+    default void error(String message) { log(LogLevel.ERROR, message); }
+
+    // Компоненты принимают Consumer<String>: логгер журнала проходит как есть,
+    // у обычного потребителя (System.out::println) уровень теряется, null — без журнала
+    static ComponentLogger of(Consumer<String> consumer) {
+        if (consumer == null) return NONE;
+        if (consumer instanceof ComponentLogger logger) return logger;
+        return (level, message) -> consumer.accept(message);
+    }
+}
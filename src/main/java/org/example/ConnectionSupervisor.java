@@ -0,0 +1,189 @@
+package org.example;
+
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// Фоновый надзор за подключением (галочка "Автоподключение"):
+//   - связь пропала — переподключение с экспоненциальной паузой между попытками
+//   - у той же сети есть точка заметно сильнее текущей — переход на неё
+// Уровни сигнала берутся из живых результатов сканера, собственных сканов надзор не запускает
+public class ConnectionSupervisor {
+    private static final long CHECK_INTERVAL_MS = 5000;
+    private static final long MIN_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 60000;
+    private static final int ROAM_HYSTERESIS = 15;
+    private static final long ROAM_HOLD_MS = 30000;
+
+    private final WifiConnector connector;
+    private final WifiScanner scanner;
+    private final ComponentLogger logger;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ConnectionSupervisor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile String ssid;
+    private volatile String password;
+    private volatile boolean linkUp = false;
+    private Consumer<String> statusListener;
+    private ScheduledFuture<?> next;
+    // Номер сеанса надзора: watch/stop его меняют, и начатая проверка видит, что устарела
+    private long generation = 0;
+
+    // Только поток надзора
+    private long checkedGeneration = -1;
+    private long backoffMs = MIN_BACKOFF_MS;
+    private long lastRoamAt = 0;
+
+    public ConnectionSupervisor(WifiConnector connector, WifiScanner scanner, Consumer<String> logger) {
+        this.connector = connector;
+        this.scanner = scanner;
+        this.logger = ComponentLogger.of(logger);
+
+        // Изменения в нашей сети — повод проверить связь и роуминг не дожидаясь очередного опроса.
+        // Во время паузы между попытками переподключения проверка не ускоряется
+        scanner.addChangeListener(diff -> {
+            String target = ssid;
+            if (target == null || !linkUp) return;
+            for (WifiNetwork n : diff.getRemoved()) if (n.getSsid().equals(target)) { schedule(0); return; }
+            for (WifiNetwork n : diff.getChanged()) if (n.getSsid().equals(target)) { schedule(0); return; }
+        });
+    }
+
+    // SSID текущей сети после переподключения или null при потере связи; вызывается из фонового потока
+    public void setStatusListener(Consumer<String> listener) {
+        this.statusListener = listener;
+    }
+
+    // === Управление ===
+    // password == null — переподключение по сохранённому профилю
+    public synchronized void watch(String ssid, String password) {
+        this.ssid = ssid;
+        this.password = password;
+        this.linkUp = true;
+        generation++;
+        log("Автоподключение: слежу за " + ssid);
+        schedule(generation, CHECK_INTERVAL_MS);
+    }
+
+    // Следить за сетью, к которой система уже подключена (например, при запуске)
+    public void watchCurrent() {
+        executor.execute(() -> {
+            ConnectionVerifier.Link link = connector.currentLink();
+            if (link != null) watch(link.ssid(), null);
+        });
+    }
+
+    public synchronized void stop() {
+        if (ssid != null) log("Автоподключение выключено");
+        ssid = null;
+        password = null;
+        generation++;
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+    }
+
+    public boolean isWatching() {
+        return ssid != null;
+    }
+
+    private synchronized void schedule(long delayMs) {
+        schedule(generation, delayMs);
+    }
+
+    // Проверка устаревшего сеанса не переставляет таймер нового
+    private synchronized void schedule(long gen, long delayMs) {
+        if (ssid == null || gen != generation) return;
+        if (next != null) next.cancel(false);
+        next = executor.schedule(this::check, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized boolean isCurrent(long gen) {
+        return gen == generation && ssid != null;
+    }
+
+    // === Проверка (поток надзора) ===
+    private void check() {
+        String target;
+        String pass;
+        long gen;
+        synchronized (this) {
+            target = ssid;
+            pass = password;
+            gen = generation;
+        }
+        if (target == null) return;
+        // Новый сеанс начинает паузы между попытками с минимальной
+        if (gen != checkedGeneration) {
+            checkedGeneration = gen;
+            backoffMs = MIN_BACKOFF_MS;
+        }
+        if (connector.isConnecting()) {
+            schedule(gen, CHECK_INTERVAL_MS);
+            return;
+        }
+
+        ConnectionVerifier.Link link = connector.currentLink();
+        if (link != null && target.equals(link.ssid())) {
+            if (!linkUp) notifyStatus(target);
+            linkUp = true;
+            backoffMs = MIN_BACKOFF_MS;
+            maybeRoam(gen, target, link);
+            schedule(gen, CHECK_INTERVAL_MS);
+            return;
+        }
+
+        if (linkUp) {
+            linkUp = false;
+            logger.warn("Связь с " + target + " потеряна");
+            notifyStatus(null);
+        }
+        // Пока шла проверка, надзор могли выключить или переключить на другую сеть
+        if (!isCurrent(gen)) return;
+        if (connector.reconnect(target, pass)) {
+            linkUp = true;
+            backoffMs = MIN_BACKOFF_MS;
+            notifyStatus(target);
+            schedule(gen, CHECK_INTERVAL_MS);
+        } else {
+            logger.warn("Переподключение не удалось, следующая попытка через " + backoffMs / 1000 + " с");
+            schedule(gen, backoffMs);
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    // Переход только при разнице сглаженного сигнала не меньше порога и не чаще раза в ROAM_HOLD_MS,
+    // иначе две равные точки перебрасывали бы клиента туда-обратно
+    private void maybeRoam(long gen, String target, ConnectionVerifier.Link link) {
+        if (link.bssid() == null || !connector.canRoam()) return;
+        WifiNetwork network = scanner.getSnapshot().findBySsid(target);
+        if (network == null || network.getBssidCount() < 2) return;
+
+        AccessPoint best = network.getBestAccessPoint();
+        AccessPoint current = null;
+        for (AccessPoint ap : network.getAccessPoints()) {
+            if (ap.getBssid().equalsIgnoreCase(link.bssid())) current = ap;
+        }
+        if (current == null || current == best) return;
+        if (best.getSmoothedSignal() - current.getSmoothedSignal() < ROAM_HYSTERESIS) return;
+
+        long now = System.currentTimeMillis();
+        if (now - lastRoamAt < ROAM_HOLD_MS) return;
+        if (!isCurrent(gen)) return;
+        lastRoamAt = now;
+
+        log("Роуминг: " + current.getBssid() + " (" + current.getSmoothedSignal() + "%) → "
+                + best.getBssid() + " (" + best.getSmoothedSignal() + "%)");
+        if (!connector.roamTo(target, best.getBssid())) logger.warn("Роуминг на " + best.getBssid() + " не удался");
+    }
+
+    private void notifyStatus(String connectedSsid) {
+        Consumer<String> listener = statusListener;
+        if (listener != null) listener.accept(connectedSsid);
+    }
+
+    private void log(String msg) { logger.info(msg); }
+}
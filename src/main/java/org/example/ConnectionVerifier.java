@@ -0,0 +1,169 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// Ожидание результата подключения без фиксированных пауз.
+// NetworkManager: события nmcli monitor, состояние перепроверяется только на изменениях.
+// Windows и macOS: опрос состояния с нарастающим интервалом.
+// Возвращается сразу, как только канал поднят или точка отклонила аутентификацию
+public class ConnectionVerifier {
+    public enum Outcome { CONNECTED, AUTH_FAILED, TIMEOUT }
+
+    // Текущее подключение; bssid == null, если система его не сообщает
+    public record Link(String ssid, String bssid) {}
+
+    private static final long FIRST_POLL_MS = 100;
+    private static final long MAX_POLL_MS = 1000;
+
+    private final ComponentLogger logger;
+    private final CommandRunner runner = CommandRunner.shared();
+
+    public ConnectionVerifier(Consumer<String> logger) {
+        this.logger = ComponentLogger.of(logger);
+    }
+
+    // === NetworkManager ===
+    // Монитор запускается до первой проверки, чтобы не пропустить переход между ними
+    public Outcome awaitNetworkManager(String ssid, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+        Future<CommandResult> monitor = runner.monitorAsync(seconds(timeoutMs), line -> {
+            String event = line.trim();
+            if (event.endsWith(": connection failed") || event.endsWith("(need authentication)")) {
+                outcome.complete(Outcome.AUTH_FAILED);
+            } else if (event.endsWith(": connected")) {
+                runner.submit(() -> {
+                    if (isNmConnectedTo(ssid)) outcome.complete(Outcome.CONNECTED);
+                });
+            }
+        }, "nmcli", "monitor");
+
+        try {
+            if (isNmConnectedTo(ssid)) return Outcome.CONNECTED;
+            return outcome.get(remainingMs(deadline), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return isNmConnectedTo(ssid) ? Outcome.CONNECTED : Outcome.TIMEOUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.TIMEOUT;
+        } catch (ExecutionException e) {
+            return Outcome.TIMEOUT;
+        } finally {
+            monitor.cancel(true);
+        }
+    }
+
+    // Активная сеть по SSID, а не по имени профиля: профиль может называться "Сеть 1"
+    private boolean isNmConnectedTo(String ssid) {
+        Link link = activeNetworkManager();
+        return link != null && link.ssid().equals(ssid);
+    }
+
+    public Link activeNetworkManager() {
+        CommandResult result = runner.run(5, "nmcli", "-t", "-f", "ACTIVE,BSSID,SSID", "dev", "wifi", "list", "--rescan", "no");
+        for (String line : result.getOutput().split("\n")) {
+            List<String> fields = splitTerse(line);
+            if (fields.size() == 3 && fields.get(0).equals("yes")) return new Link(fields.get(2), fields.get(1));
+        }
+        return null;
+    }
+
+    // Поля nmcli -t разделены ':', двоеточия внутри значений экранированы '\'
+    private static List<String> splitTerse(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                field.append(line.charAt(++i));
+            } else if (c == ':') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // === Windows ===
+    // Если интерфейс уже начал аутентификацию и вернулся в disconnected — ключ отклонён
+    public Outcome awaitNetsh(String ssid, long timeoutMs) {
+        boolean authenticating = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (long delay = FIRST_POLL_MS; ; delay = Math.min(delay * 2, MAX_POLL_MS)) {
+            Map<String, String> fields = netshInterface();
+            String state = fields.get("State");
+            String current = fields.get("SSID");
+
+            if ("connected".equals(state) && ssid.equals(current)) return Outcome.CONNECTED;
+            if ("authenticating".equals(state) || "associating".equals(state)) {
+                authenticating = true;
+            } else if (authenticating && "disconnected".equals(state)) {
+                return Outcome.AUTH_FAILED;
+            }
+            if (!sleep(delay, deadline)) return Outcome.TIMEOUT;
+        }
+    }
+
+    public Link activeNetsh() {
+        Map<String, String> fields = netshInterface();
+        if (!"connected".equals(fields.get("State")) || fields.get("SSID") == null) return null;
+        return new Link(fields.get("SSID"), fields.get("BSSID"));
+    }
+
+    // Первый интерфейс из netsh wlan show interfaces: "Ключ : значение"
+    private Map<String, String> netshInterface() {
+        Map<String, String> fields = new HashMap<>();
+        for (String line : runner.run(5, "netsh", "wlan", "show", "interfaces").getOutput().split("\n")) {
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+            fields.putIfAbsent(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+        }
+        return fields;
+    }
+
+    // === macOS ===
+    public Outcome awaitAirport(String ssid, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (long delay = FIRST_POLL_MS; ; delay = Math.min(delay * 2, MAX_POLL_MS)) {
+            Link link = activeAirport();
+            if (link != null && link.ssid().equals(ssid)) return Outcome.CONNECTED;
+            if (!sleep(delay, deadline)) return Outcome.TIMEOUT;
+        }
+    }
+
+    // "Current Wi-Fi Network: <ssid>"; BSSID networksetup не сообщает
+    public Link activeAirport() {
+        String output = runner.run(5, "networksetup", "-getairportnetwork", "en0").getOutput().trim();
+        int colon = output.indexOf(": ");
+        return output.startsWith("Current") && colon > 0 ? new Link(output.substring(colon + 2), null) : null;
+    }
+
+    // === Утилиты ===
+    private boolean sleep(long delayMs, long deadline) {
+        long left = remainingMs(deadline);
+        if (left <= 0) return false;
+        try {
+            Thread.sleep(Math.min(delayMs, left));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Проверка подключения прервана");
+            return false;
+        }
+    }
+
+    private static long remainingMs(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private static long seconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    private void log(String msg) { logger.info(msg); }
+}
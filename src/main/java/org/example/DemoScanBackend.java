@@ -0,0 +1,34 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+public class DemoScanBackend implements ScanBackend {
+
+    @Override
+    public String getName() { return "demo"; }
+
+    @Override
+    public List<WifiNetwork> scan(Consumer<String> progress) throws InterruptedException {
+        progress.accept("Демо-режим: генерация тестовых сетей");
+        Random r = new Random();
+        String[] ssids = {
+                "Home_5G", "Office_WiFi", "Guest_Network", "Cafe_Free",
+                "TP-Link_1234", "Beeline_Home", "MTS_5G", "Rostelecom"
+        };
+        String[] securities = {"WPA2", "WPA3", "Open", "WEP"};
+
+        List<WifiNetwork> demo = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String ssid = ssids[r.nextInt(ssids.length)] + (r.nextBoolean() ? "_5G" : "");
+            int signal = 30 + r.nextInt(70);
+            String security = securities[r.nextInt(securities.length)];
+            boolean is5G = ssid.contains("5G") || r.nextBoolean();
+            int mhz = is5G ? 5180 + 20 * r.nextInt(4) : 2412 + 25 * r.nextInt(3);
+            String bssid = String.format("AA:BB:CC:DD:EE:%02X", i);
+            demo.add(new WifiNetwork(ssid, signal, security, mhz, bssid));
+        }
+        Thread.sleep(1500);
+        return demo;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Журнал фиксированной ёмкости без блокировок. Писатели (сканер, коннектор, вывод команд)
+// берут номер записи атомарным счётчиком и кладут её в ячейку номер & mask — старые записи
+// перезаписываются, память не растёт. Читатель узнаёт запись по номеру: если в ячейке
+// лежит другой номер, запись ещё не опубликована или уже затёрта.
+// Запись структурная: уровень, источник, время и текст — фильтры работают по полям, а не по строке
+public class LogBuffer {
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    public static final class Entry {
+        private final long seq;
+        private final long timestamp;
+        private final LogLevel level;
+        private final String source;
+        private final String message;
+        private final String searchText;
+        private String text;
+
+        private Entry(long seq, long timestamp, LogLevel level, String source, String message) {
+            this.seq = seq;
+            this.timestamp = timestamp;
+            this.level = level;
+            this.source = source;
+            this.message = message;
+            this.searchText = message.toLowerCase(Locale.ROOT);
+        }
+
+        public long getSeq() { return seq; }
+        public long getTimestamp() { return timestamp; }
+        public LogLevel getLevel() { return level; }
+        public String getSource() { return source; }
+        public String getMessage() { return message; }
+
+        // Поиск без учёта регистра; нижний регистр готовится писателем, не на EDT
+        public boolean matches(String lowerCaseQuery) {
+            return searchText.contains(lowerCaseQuery);
+        }
+
+        // Строка для показа собирается один раз, при первой отрисовке
+        @Override
+        public String toString() {
+            String t = text;
+            if (t == null) {
+                LocalTime time = LocalTime.ofInstant(Instant.ofEpochMilli(timestamp), ZONE);
+                text = t = "[" + TIME_FMT.format(time) + "] " + (source != null ? "[" + source + "] " : "") + message;
+            }
+            return t;
+        }
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    // Ёмкость округляется вверх до степени двойки
+    public LogBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    // === Запись (любой поток) ===
+    public void append(LogLevel level, String source, String message) {
+        long seq = next.getAndIncrement();
+        slots.set((int) (seq & mask), new Entry(seq, System.currentTimeMillis(), level, source, String.valueOf(message)));
+    }
+
+    // Логгер компонента: info/warn/error/success, а как Consumer<String> — строки уровня INFO
+    public ComponentLogger logger(String source) {
+        return (level, message) -> append(level, source, message);
+    }
+
+    // === Чтение ===
+    public int capacity() { return mask + 1; }
+
+    // Номер следующей записи; записи с меньшими номерами могут быть ещё в пути
+    public long end() { return next.get(); }
+
+    // Самый старый номер, который ещё может лежать в буфере
+    public long start() { return Math.max(0, next.get() - capacity()); }
+
+    public Entry get(long seq) {
+        Entry e = slots.get((int) (seq & mask));
+        return e != null && e.seq == seq ? e : null;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+// Потоковая выгрузка журнала в файл: записи читаются из LogBuffer по одной и сразу уходят
+// в буферизованный поток — в памяти не больше одного буфера текста.
+// Формат по имени файла: *.jsonl — JSON Lines, *.gz — сжатие gzip (например, log.jsonl.gz)
+public class LogExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LogBuffer buffer;
+
+    public LogExporter(LogBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    // Выгружает записи начиная с fromSeq, лежащие в буфере на момент вызова. Затёртые во время
+    // выгрузки пропускаются. Прерывание потока останавливает выгрузку. Возвращает число записанных строк
+    public long export(Path target, long fromSeq, Predicate<LogBuffer.Entry> filter, IntConsumer progress)
+            throws IOException, InterruptedException {
+        String name = target.getFileName().toString().toLowerCase();
+        boolean gzip = name.endsWith(".gz");
+        boolean json = name.endsWith(".jsonl") || name.endsWith(".jsonl.gz");
+
+        long from = Math.max(fromSeq, buffer.start());
+        long to = buffer.end();
+        long total = Math.max(1, to - from);
+        long written = 0;
+        int reported = -1;
+
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE);
+        if (gzip) out = new GZIPOutputStream(out, BUFFER_SIZE);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            for (long seq = from; seq < to; seq++) {
+                if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+                LogBuffer.Entry entry = buffer.get(seq);
+                if (entry != null && filter.test(entry)) {
+                    if (json) writeJson(writer, entry); else writer.write(entry.toString());
+                    writer.write('\n');
+                    written++;
+                }
+
+                int percent = (int) ((seq - from + 1) * 100 / total);
+                if (percent != reported) {
+                    reported = percent;
+                    progress.accept(percent);
+                }
+            }
+        }
+        return written;
+    }
+
+    private static void writeJson(Writer w, LogBuffer.Entry e) throws IOException {
+        w.write("{\"ts\":\"");
+        w.write(Instant.ofEpochMilli(e.getTimestamp()).toString());
+        w.write("\",\"level\":\"");
+        w.write(e.getLevel().name());
+        w.write("\",\"source\":");
+        if (e.getSource() == null) {
+            w.write("null");
+        } else {
+            writeString(w, e.getSource());
+        }
+        w.write(",\"message\":");
+        writeString(w, e.getMessage());
+        w.write('}');
+    }
+
+    private static void writeString(Writer w, String s) throws IOException {
+        w.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> w.write("\\\"");
+                case '\\' -> w.write("\\\\");
+                case '\n' -> w.write("\\n");
+                case '\r' -> w.write("\\r");
+                case '\t' -> w.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        w.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        w.write(c);
+                    }
+                }
+            }
+        }
+        w.write('"');
+    }
+}
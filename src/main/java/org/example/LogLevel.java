@@ -0,0 +1,10 @@
+package org.example;
+
+// Уровень записи журнала. Его задаёт сам компонент через ComponentLogger
+// (info/warn/error/success); строки без уровня — вывод утилит и прогресс — пишутся как INFO
+public enum LogLevel {
+    INFO,
+    SUCCESS,
+    WARNING,
+    ERROR
+}
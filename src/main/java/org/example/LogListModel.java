@@ -0,0 +1,176 @@
+package org.example;
+
+import javax.swing.*;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+// Окно JList поверх LogBuffer. Строки не копируются: модель хранит только номера записей
+// и раз в FLUSH_MS сдвигает окно одной парой событий — сколько бы записей ни пришло.
+// На каждом такте новые записи раскладываются по индексам уровней, поэтому смена фильтра —
+// это подмена индекса, а поиск проходит по номерам выбранного уровня, а не по тексту всего журнала.
+// JList с фиксированной высотой строки рисует только видимые строки
+public class LogListModel extends AbstractListModel<LogBuffer.Entry> {
+    private static final int FLUSH_MS = 50;
+    // Запас до перезаписи: писатели должны обогнать показ больше чем на SLACK записей за один такт
+    private static final int SLACK = 1024;
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final LogBuffer buffer;
+    private final int window;
+    private final Timer timer;
+    private final SeqRing[] byLevel = new SeqRing[LEVELS.length];
+    private long first = 0;
+    private long end = 0;
+    private Runnable afterFlush;
+
+    // Текущий фильтр: уровень (null — все) и строка поиска в нижнем регистре ("" — без поиска)
+    private LogLevel level;
+    private String query = "";
+    // Номера записей под фильтром; null — показывается весь диапазон [first, end)
+    private SeqRing view;
+
+    public LogListModel(LogBuffer buffer) {
+        this.buffer = buffer;
+        this.window = Math.max(1, buffer.capacity() - SLACK);
+        this.timer = new Timer(FLUSH_MS, e -> flush());
+        for (int i = 0; i < byLevel.length; i++) byLevel[i] = new SeqRing(window);
+    }
+
+    public void start() { timer.start(); }
+    public void stop() { timer.stop(); }
+
+    // Вызывается после каждой порции новых строк — например, для автопрокрутки
+    public void setAfterFlush(Runnable afterFlush) {
+        this.afterFlush = afterFlush;
+    }
+
+    // === Фильтр (EDT) ===
+    public void setFilter(LogLevel level, String query) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (level == this.level && q.equals(this.query)) return;
+
+        int oldSize = getSize();
+        this.level = level;
+        this.query = q;
+        if (q.isEmpty()) {
+            view = level == null ? null : byLevel[level.ordinal()];
+        } else {
+            view = new SeqRing(window);
+            if (level == null) {
+                for (long seq = first; seq < end; seq++) addIfMatches(seq);
+            } else {
+                SeqRing source = byLevel[level.ordinal()];
+                for (int i = 0; i < source.size(); i++) addIfMatches(source.get(i));
+            }
+        }
+
+        if (oldSize > 0) fireIntervalRemoved(this, 0, oldSize - 1);
+        int size = getSize();
+        if (size > 0) fireIntervalAdded(this, 0, size - 1);
+    }
+
+    public LogLevel getLevel() { return level; }
+    public String getQuery() { return query; }
+
+    // Номер самой старой показанной записи (после очистки — первой новой)
+    public long firstSeq() { return first; }
+
+    // Текущий фильтр как условие на запись — для выгрузки в фоне, без обращения к модели
+    public Predicate<LogBuffer.Entry> filter() {
+        LogLevel l = level;
+        String q = query;
+        return e -> (l == null || e.getLevel() == l) && (q.isEmpty() || e.matches(q));
+    }
+
+    private void addIfMatches(long seq) {
+        LogBuffer.Entry e = buffer.get(seq);
+        if (e != null && e.matches(query)) view.add(seq);
+    }
+
+    // === Обновление (EDT) ===
+    private void flush() {
+        // Новые записи берём до первой ещё не опубликованной. Всё, что старше окна, пропускаем:
+        // эти ячейки могли быть уже перезаписаны и выглядели бы как неопубликованные
+        long limit = buffer.end();
+        long published = Math.max(end, limit - window);
+        while (published < limit && buffer.get(published) != null) published++;
+        if (published == end) return;
+
+        int oldSize = getSize();
+        long newFirst = Math.max(first, published - window);
+        int removed;
+        if (view == null) {
+            removed = (int) Math.min(newFirst - first, end - first);
+        } else {
+            view.trimBelow(newFirst);
+            removed = oldSize - view.size();
+        }
+        for (SeqRing index : byLevel) index.trimBelow(newFirst);
+
+        // Индексы пополняются только новыми записями
+        boolean searching = !query.isEmpty();
+        for (long seq = Math.max(end, newFirst); seq < published; seq++) {
+            LogBuffer.Entry e = buffer.get(seq);
+            if (e == null) continue;
+            byLevel[e.getLevel().ordinal()].add(seq);
+            if (searching && (level == null || e.getLevel() == level) && e.matches(query)) view.add(seq);
+        }
+        first = newFirst;
+        end = published;
+
+        if (removed > 0) fireIntervalRemoved(this, 0, removed - 1);
+        int kept = oldSize - removed;
+        int size = getSize();
+        if (size > kept) fireIntervalAdded(this, kept, size - 1);
+        if (afterFlush != null) afterFlush.run();
+    }
+
+    // Очистка показа; записи в буфере остаются
+    public void clear() {
+        flush();
+        int size = getSize();
+        first = end;
+        for (SeqRing index : byLevel) index.trimBelow(first);
+        if (view != null) view.trimBelow(first);
+        if (size > 0) fireIntervalRemoved(this, 0, size - 1);
+    }
+
+    // === ListModel ===
+    @Override
+    public int getSize() {
+        return view == null ? (int) (end - first) : view.size();
+    }
+
+    // Строка, затёртая между тактами, показывается пустой до следующего сдвига окна
+    @Override
+    public LogBuffer.Entry getElementAt(int index) {
+        return buffer.get(view == null ? first + index : view.get(index));
+    }
+
+    // Возрастающие номера записей в кольце фиксированной ёмкости
+    private static final class SeqRing {
+        private final long[] seqs;
+        private final int mask;
+        private long head = 0;
+        private long tail = 0;
+
+        SeqRing(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            this.seqs = new long[size];
+            this.mask = size - 1;
+        }
+
+        void add(long seq) {
+            if (tail - head == seqs.length) head++;
+            seqs[(int) (tail++ & mask)] = seq;
+        }
+
+        void trimBelow(long seq) {
+            while (head < tail && seqs[(int) (head & mask)] < seq) head++;
+        }
+
+        int size() { return (int) (tail - head); }
+
+        long get(int i) { return seqs[(int) ((head + i) & mask)]; }
+    }
+}
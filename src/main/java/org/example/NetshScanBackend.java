@@ -0,0 +1,78 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class NetshScanBackend implements ScanBackend {
+
+    @Override
+    public String getName() { return "netsh"; }
+
+    @Override
+    public List<WifiNetwork> scan(Consumer<String> progress) throws Exception {
+        return CommandRunner.shared().read(15, reader -> parse(new BufferedReader(reader), progress),
+                "netsh", "wlan", "show", "networks", "mode=bssid");
+    }
+
+    // === Разбор вывода netsh wlan show networks mode=bssid ===
+    // Запись на каждую точку доступа; группировкой по SSID занимается сканер
+    public static List<WifiNetwork> parse(BufferedReader reader, Consumer<String> progress) throws IOException {
+        List<WifiNetwork> networks = new ArrayList<>();
+        parseBssids(reader, bss -> {
+            networks.add(bss);
+            progress.accept("Сеть: " + bss.getSsid() + " [" + bss.getBssid() + "]");
+        });
+        return networks;
+    }
+
+    // Конечный автомат за один проход: SSID → (BSSID → Signal/Radio type/Channel)*.
+    // Каждый блок BSSID отдаётся отдельной записью, когда начинается следующий блок или кончается вывод
+    public static void parseBssids(BufferedReader reader, Consumer<WifiNetwork> sink) throws IOException {
+        String ssid = null, security = "Unknown";
+        String bssid = null, band = null, radioType = null;
+        int signal = 0, channel = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null && !Thread.currentThread().isInterrupted()) {
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+            String key = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+
+            if (key.startsWith("SSID ")) {
+                if (bssid != null) emit(sink, ssid, security, bssid, signal, channel, band, radioType);
+                ssid = value;
+                security = "Unknown";
+                bssid = null;
+            } else if (ssid == null || ssid.isEmpty()) {
+                // Скрытые сети и заголовок до первого SSID пропускаем
+            } else if (key.startsWith("BSSID ")) {
+                if (bssid != null) emit(sink, ssid, security, bssid, signal, channel, band, radioType);
+                bssid = value;
+                signal = 0;
+                channel = 0;
+                band = null;
+                radioType = null;
+            } else if (bssid == null) {
+                if (key.equals("Authentication")) security = value;
+            } else if (key.equals("Signal")) {
+                signal = ScanBackend.parseSignal(value);
+            } else if (key.equals("Channel")) {
+                channel = ScanBackend.parseSignal(value);
+            } else if (key.equals("Band")) {
+                band = value;
+            } else if (key.equals("Radio type")) {
+                radioType = value.isEmpty() ? null : value;
+            }
+        }
+        if (bssid != null && ssid != null && !ssid.isEmpty()) emit(sink, ssid, security, bssid, signal, channel, band, radioType);
+    }
+
+    private static void emit(Consumer<WifiNetwork> sink, String ssid, String security,
+                             String bssid, int signal, int channel, String band, String radioType) {
+        // Старые версии netsh не печатают Band — тогда диапазон определяется по номеру канала
+        sink.accept(new WifiNetwork(ssid, signal, security, AccessPoint.frequencyOf(channel, band), bssid, radioType));
+    }
+}
@@ -0,0 +1,109 @@
+package org.example;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Составной фильтр сетей. Для целого снимка работает через его индексы (битовые множества),
+// для отдельной сети — как обычный предикат (им GUI проверяет дельты скана)
+public final class NetworkFilter implements Predicate<WifiNetwork> {
+    private final Predicate<WifiNetwork> predicate;
+    private final Function<ScanSnapshot, BitSet> selector;
+
+    private NetworkFilter(Predicate<WifiNetwork> predicate, Function<ScanSnapshot, BitSet> selector) {
+        this.predicate = predicate;
+        this.selector = selector;
+    }
+
+    // === Базовые фильтры ===
+    public static NetworkFilter all() {
+        return new NetworkFilter(n -> true, ScanSnapshot::all);
+    }
+
+    public static NetworkFilter security(Security... types) {
+        EnumSet<Security> set = EnumSet.noneOf(Security.class);
+        set.addAll(Arrays.asList(types));
+        return new NetworkFilter(n -> set.contains(n.getSecurity()), s -> {
+            BitSet bits = new BitSet(s.size());
+            for (Security type : set) bits.or(s.withSecurity(type));
+            return bits;
+        });
+    }
+
+    public static NetworkFilter open() {
+        return security(Security.OPEN);
+    }
+
+    public static NetworkFilter secured() {
+        return open().negate();
+    }
+
+    public static NetworkFilter band(Band band) {
+        return new NetworkFilter(n -> n.hasBand(band), s -> s.withBand(band));
+    }
+
+    public static NetworkFilter minSignal(int signal) {
+        return new NetworkFilter(n -> n.getSignalStrength() >= signal, s -> s.withSignalAtLeast(signal));
+    }
+
+    // Произвольное условие без индекса — проверяет каждую сеть снимка
+    public static NetworkFilter matching(Predicate<WifiNetwork> predicate) {
+        return new NetworkFilter(predicate, s -> {
+            BitSet bits = new BitSet(s.size());
+            List<WifiNetwork> networks = s.getNetworks();
+            for (int i = 0; i < networks.size(); i++) {
+                if (predicate.test(networks.get(i))) bits.set(i);
+            }
+            return bits;
+        });
+    }
+
+    // Ключи фильтров из GUI
+    public static NetworkFilter byKey(String filterType) {
+        return switch (filterType) {
+            case "strongSignals" -> minSignal(60);
+            case "openNetworks" -> open();
+            case "securedNetworks" -> secured();
+            default -> all();
+        };
+    }
+
+    // === Композиция ===
+    public NetworkFilter and(NetworkFilter other) {
+        return new NetworkFilter(predicate.and(other.predicate), s -> {
+            BitSet bits = select(s);
+            bits.and(other.select(s));
+            return bits;
+        });
+    }
+
+    public NetworkFilter or(NetworkFilter other) {
+        return new NetworkFilter(predicate.or(other.predicate), s -> {
+            BitSet bits = select(s);
+            bits.or(other.select(s));
+            return bits;
+        });
+    }
+
+    @Override
+    public NetworkFilter negate() {
+        return new NetworkFilter(predicate.negate(), s -> {
+            BitSet bits = select(s);
+            bits.flip(0, s.size());
+            return bits;
+        });
+    }
+
+    @Override
+    public boolean test(WifiNetwork network) {
+        return predicate.test(network);
+    }
+
+    public BitSet select(ScanSnapshot snapshot) {
+        return selector.apply(snapshot);
+    }
+
+    public List<WifiNetwork> apply(ScanSnapshot snapshot) {
+        return snapshot.select(select(snapshot));
+    }
+}
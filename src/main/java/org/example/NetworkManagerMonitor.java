@@ -0,0 +1,151 @@
+package org.example;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+public class NetworkManagerMonitor {
+    private static final String AP_PATH = "/org/freedesktop/NetworkManager/AccessPoint/";
+    private static final long COALESCE_MS = 100;
+
+    private final Consumer<List<WifiNetwork>> sink;
+    private final ComponentLogger logger;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "NM-Monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // D-Bus путь точки доступа → последнее известное состояние
+    private final Map<String, WifiNetwork> accessPoints = new ConcurrentHashMap<>();
+    private final NmcliTerseParser parser = new NmcliTerseParser();
+    private final CommandRunner runner = CommandRunner.shared();
+    private Future<?> task;
+    private volatile boolean running = false;
+    private ScheduledFuture<?> pendingPublish;
+    private ScheduledFuture<?> pendingReload;
+
+    public NetworkManagerMonitor(Consumer<List<WifiNetwork>> sink, Consumer<String> logger) {
+        this.sink = sink;
+        this.logger = ComponentLogger.of(logger);
+    }
+
+    // === Запуск: один долгоживущий процесс gdbus вместо nmcli на каждый скан ===
+    public synchronized boolean start() {
+        if (running) return true;
+        if (!reload()) {
+            logger.warn("Мониторинг NetworkManager недоступен");
+            return false;
+        }
+
+        running = true;
+        // Без срока: процесс живёт до stop(), отмена задачи убивает его
+        task = runner.submit(() -> {
+            CommandResult result = runner.monitor(0, this::handleSignal,
+                    "gdbus", "monitor", "--system", "--dest", "org.freedesktop.NetworkManager");
+            if (running) {
+                running = false;
+                logger.warn("Мониторинг NetworkManager остановлен (код " + result + ")");
+            }
+        });
+        log("Мониторинг NetworkManager запущен");
+        return true;
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (task != null) {
+            task.cancel(true);
+            task = null;
+        }
+        accessPoints.clear();
+    }
+
+    public boolean isRunning() { return running; }
+
+    // === Разбор строк gdbus monitor ===
+    // /org/.../AccessPoint/42: org.freedesktop.DBus.Properties.PropertiesChanged ('...AccessPoint', {'Strength': <byte 0x43>, ...}, @as [])
+    // /org/.../Devices/3: org.freedesktop.NetworkManager.Device.Wireless.AccessPointAdded (objectpath '/org/.../AccessPoint/57',)
+    private void handleSignal(String line) {
+        if (line.contains(".AccessPointAdded")) {
+            scheduleReload();
+        } else if (line.contains(".AccessPointRemoved")) {
+            String path = quotedPathAfter(line, "objectpath '");
+            if (path != null && accessPoints.remove(path) != null) schedulePublish();
+        } else if (line.startsWith(AP_PATH) && line.contains("'Strength'")) {
+            String path = line.substring(0, line.indexOf(':'));
+            int strength = parseStrength(line);
+            WifiNetwork old = accessPoints.get(path);
+            if (old != null && strength >= 0 && strength != old.getSignalStrength()) {
+                accessPoints.put(path, new WifiNetwork(old.getSsid(), List.of(old.getBestAccessPoint().withSample(strength))));
+                schedulePublish();
+            }
+        }
+    }
+
+    private String quotedPathAfter(String line, String marker) {
+        int start = line.indexOf(marker);
+        if (start < 0) return null;
+        start += marker.length();
+        int end = line.indexOf('\'', start);
+        return end > start ? line.substring(start, end) : null;
+    }
+
+    private int parseStrength(String line) {
+        int i = line.indexOf("<byte ", line.indexOf("'Strength'"));
+        if (i < 0) return -1;
+        i += "<byte ".length();
+        int end = line.indexOf('>', i);
+        try {
+            return Integer.decode(line.substring(i, end).trim());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    // === Пакетная публикация: всплеск сигналов после скана NM даёт одно обновление ===
+    private synchronized void schedulePublish() {
+        if (pendingPublish == null || pendingPublish.isDone()) {
+            pendingPublish = executor.schedule(this::publish, COALESCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void scheduleReload() {
+        if (pendingReload == null || pendingReload.isDone()) {
+            pendingReload = executor.schedule(() -> {
+                reload();
+                publish();
+            }, COALESCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void publish() {
+        if (!running) return;
+        // Как и обычный скан: запись на каждую точку доступа, группирует сканер
+        sink.accept(new ArrayList<>(accessPoints.values()));
+    }
+
+    // Новые точки доступа берём из кэша NetworkManager: --rescan no не трогает радио
+    private synchronized boolean reload() {
+        try {
+            Map<String, WifiNetwork> fresh = new HashMap<>();
+            runner.read(5, reader -> {
+                parser.parseWithExtra(reader, (network, path) -> {
+                    if (path != null) fresh.put(path, network);
+                });
+                return fresh;
+            }, "nmcli", "-t", "-f", "SSID,SIGNAL,SECURITY,FREQ,BSSID,DBUS-PATH", "dev", "wifi", "list", "--rescan", "no");
+            accessPoints.keySet().retainAll(fresh.keySet());
+            accessPoints.putAll(fresh);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.error("nmcli ошибка: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void log(String msg) { logger.info(msg); }
+}
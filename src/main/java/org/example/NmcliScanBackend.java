@@ -0,0 +1,42 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class NmcliScanBackend implements ScanBackend {
+
+    @Override
+    public String getName() { return "nmcli"; }
+
+    @Override
+    public List<WifiNetwork> scan(Consumer<String> progress) throws Exception {
+        return CommandRunner.shared().read(15, reader -> parse(reader, progress),
+                "nmcli", "-t", "-f", "SSID,SIGNAL,SECURITY,FREQ,BSSID", "dev", "wifi");
+    }
+
+    // nmcli -t -m multiline печатает по строке "ПОЛЕ:значение" на каждое поле
+    @Override
+    public Map<String, String> details(String bssid) throws Exception {
+        CommandResult result = CommandRunner.shared().run(5, "nmcli", "-t", "-m", "multiline", "-f", "ALL",
+                "dev", "wifi", "list", "bssid", bssid, "--rescan", "no");
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (!result.isSuccess()) return fields;
+        for (String line : result.getOutput().split("\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0) fields.putIfAbsent(line.substring(0, colon), line.substring(colon + 1).replace("\\:", ":"));
+        }
+        return fields;
+    }
+
+    // === Разбор вывода nmcli -t -f SSID,SIGNAL,SECURITY,FREQ,BSSID: запись на каждую точку доступа ===
+    public static List<WifiNetwork> parse(Reader reader, Consumer<String> progress) throws IOException {
+        List<WifiNetwork> networks = new ArrayList<>();
+        new NmcliTerseParser().parse(reader, network -> {
+            networks.add(network);
+            progress.accept("Обнаружена: " + network.getSsid() + " [" + network.getSignalStrength() + "%]");
+        });
+        return networks;
+    }
+}
@@ -0,0 +1,139 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+// Однопроходный разбор nmcli -t -f SSID,SIGNAL,SECURITY,FREQ,BSSID[,EXTRA].
+// Поля копируются без '\'-экранирования в переиспользуемый буфер строки, без split и regex;
+// SIGNAL и FREQ читаются числами прямо из буфера, новые строки — только SSID, BSSID и EXTRA.
+// Замер — NmcliTerseParserBenchmark в src/test на выводе из 6000 точек
+public class NmcliTerseParser {
+    private static final int FIELDS = 6;
+    private static final int SSID = 0, SIGNAL = 1, SECURITY = 2, FREQ = 3, BSSID = 4, EXTRA = 5;
+
+    public interface Sink {
+        // extra — шестое поле (например DBUS-PATH), либо null
+        void accept(WifiNetwork network, String extra);
+    }
+
+    private final char[] input = new char[8192];
+    private char[] line = new char[256];
+    private final int[] start = new int[FIELDS];
+    private final int[] end = new int[FIELDS];
+    private int length;
+    private int field;
+
+    // Повторяющиеся значения типа защиты не создают новых строк
+    private final String[] securityCache = new String[16];
+
+    public void parse(Reader in, Consumer<WifiNetwork> sink) throws IOException {
+        parseWithExtra(in, (network, extra) -> sink.accept(network));
+    }
+
+    public void parseWithExtra(Reader in, Sink sink) throws IOException {
+        resetLine();
+        boolean escaped = false;
+        int n;
+        while ((n = in.read(input)) > 0) {
+            if (Thread.currentThread().isInterrupted()) return;
+            for (int i = 0; i < n; i++) {
+                char c = input[i];
+                if (escaped) {
+                    append(c);
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == ':') {
+                    nextField();
+                } else if (c == '\n') {
+                    emit(sink);
+                } else if (c != '\r') {
+                    append(c);
+                }
+            }
+        }
+        if (length > 0 || field > 0) emit(sink);
+    }
+
+    private void resetLine() {
+        length = 0;
+        field = 0;
+        start[0] = 0;
+        for (int f = 0; f < FIELDS; f++) end[f] = -1;
+    }
+
+    private void append(char c) {
+        if (field >= FIELDS) return;
+        if (length == line.length) {
+            char[] grown = new char[line.length * 2];
+            System.arraycopy(line, 0, grown, 0, length);
+            line = grown;
+        }
+        line[length++] = c;
+    }
+
+    private void nextField() {
+        if (field >= FIELDS) return;
+        end[field++] = length;
+        if (field < FIELDS) start[field] = length;
+    }
+
+    private void emit(Sink sink) {
+        if (field < FIELDS) end[field] = length;
+        try {
+            int ssidLen = len(SSID);
+            if (ssidLen == 0 || (ssidLen == 2 && line[0] == '-' && line[1] == '-')) return;
+
+            String ssid = new String(line, start[SSID], ssidLen);
+            int signal = Math.min(100, parseInt(SIGNAL));
+            int mhz = parseInt(FREQ);
+            String security = len(SECURITY) == 0 || isDashes(SECURITY) ? "Open" : canonical(SECURITY, securityCache);
+            String bssid = len(BSSID) == 0 ? "N/A" : new String(line, start[BSSID], len(BSSID));
+            String extra = len(EXTRA) == 0 ? null : new String(line, start[EXTRA], len(EXTRA));
+
+            sink.accept(new WifiNetwork(ssid, signal, security, mhz, bssid), extra);
+        } finally {
+            resetLine();
+        }
+    }
+
+    private int len(int f) {
+        return f <= field && end[f] >= 0 ? end[f] - start[f] : 0;
+    }
+
+    private boolean isDashes(int f) {
+        for (int i = start[f]; i < end[f]; i++) if (line[i] != '-') return false;
+        return true;
+    }
+
+    // Ведущие цифры поля: "72" → 72, "2412 MHz" → 2412
+    private int parseInt(int f) {
+        int value = 0;
+        for (int i = start[f], e = start[f] + len(f); i < e; i++) {
+            char c = line[i];
+            if (c < '0' || c > '9') break;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private String canonical(int f, String[] cache) {
+        int from = start[f], n = len(f);
+        for (int i = 0; i < cache.length; i++) {
+            String s = cache[i];
+            if (s == null) {
+                return cache[i] = new String(line, from, n);
+            }
+            if (s.length() == n && regionEquals(s, from, n)) return s;
+        }
+        return new String(line, from, n);
+    }
+
+    private boolean regionEquals(String s, int from, int n) {
+        for (int i = 0; i < n; i++) {
+            if (s.charAt(i) != line[from + i]) return false;
+        }
+        return true;
+    }
+}
@@ -14,7 +14,7 @@ import java.util.stream.Collectors;
 
 public class PasswordBruteForcer {
     private final WifiConnector wifiConnector;
-    private final Consumer<String> logger;
+    private final ComponentLogger logger;
     private final ExecutorService executor = Executors.newFixedThreadPool(100);
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
 
@@ -35,12 +35,12 @@ public class PasswordBruteForcer {
 
     public PasswordBruteForcer(WifiConnector wifiConnector, Consumer<String> logger) {
         this.wifiConnector = wifiConnector;
-        this.logger = logger;
+        this.logger = ComponentLogger.of(logger);
     }
 
     public void startBruteForce(String ssid, String bssid, Consumer<String> callback) {
         if (isRunning) {
-            log("Уже запущено!");
+            logger.warn("Уже запущено!");
             return;
         }
 
@@ -71,11 +71,11 @@ public class PasswordBruteForcer {
                     if (tryFullBrute(callback)) return null;
 
                 } catch (Exception e) {
-                    log("Ошибка: " + e.getMessage());
+                    logger.error("Ошибка: " + e.getMessage());
                 }
 
                 if (!found.get()) {
-                    log("Пароль не найден. Попробуйте handshake + aircrack.");
+                    logger.warn("Пароль не найден. Попробуйте handshake + aircrack.");
                     callback.accept(null);
                 }
                 return null;
@@ -117,7 +117,7 @@ public class PasswordBruteForcer {
                     attempts.incrementAndGet();
                     if (testWpsPin(bssid, pin)) {
                         found.set(true);
-                        log("WPS PIN найден: " + pin);
+                        logger.success("WPS PIN найден: " + pin);
                         callback.accept("WPS:" + pin);
                         return true;
                     }
@@ -165,7 +165,7 @@ public class PasswordBruteForcer {
                     attempts.incrementAndGet();
                     if (wifiConnector.testConnection(targetSsid, pwd)) {
                         found.set(true);
-                        log("Пароль найден: " + pwd);
+                        logger.success("Пароль найден: " + pwd);
                         callback.accept(pwd);
                         return true;
                     }
@@ -356,6 +356,6 @@ public class PasswordBruteForcer {
     public boolean isRunning() { return isRunning; }
 
     private void log(String msg) {
-        if (logger != null) SwingUtilities.invokeLater(() -> logger.accept(msg));
+        logger.info(msg);
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package org.example;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// Возможности системы, определяются один раз за запуск.
+// ОС известна сразу, наличие утилит ищется в PATH в фоне — без запуска which и без задержки первого кадра.
+// Сканер и коннектор получают один общий экземпляр
+public final class Platform {
+    public enum Os { LINUX, WINDOWS, MAC, OTHER }
+
+    private static final List<String> TOOLS = List.of("nmcli", "gdbus", "netsh", "networksetup");
+    private static final long PROBE_WAIT_SEC = 5;
+    private static volatile Platform shared;
+
+    private final Os os;
+    private final CompletableFuture<Set<String>> tools;
+
+    private Platform(Os os, CompletableFuture<Set<String>> tools) {
+        this.os = os;
+        this.tools = tools;
+    }
+
+    // Первый вызов запускает фоновую проверку, остальные получают тот же экземпляр
+    public static Platform detect() {
+        Platform p = shared;
+        if (p == null) {
+            synchronized (Platform.class) {
+                p = shared;
+                if (p == null) {
+                    Os os = osOf(System.getProperty("os.name", ""));
+                    shared = p = new Platform(os, CompletableFuture.supplyAsync(
+                            () -> findTools(os), CommandRunner.shared().executor()));
+                }
+            }
+        }
+        return p;
+    }
+
+    // === ОС ===
+    public Os getOs() { return os; }
+    public boolean isLinux() { return os == Os.LINUX; }
+    public boolean isWindows() { return os == Os.WINDOWS; }
+    public boolean isMac() { return os == Os.MAC; }
+
+    // === Утилиты ===
+    // До окончания фоновой проверки ждёт её результата — вызывать не из EDT
+    public boolean hasTool(String name) {
+        try {
+            return tools.get(PROBE_WAIT_SEC, TimeUnit.SECONDS).contains(name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    public boolean hasNetworkManager() {
+        return hasTool("nmcli");
+    }
+
+    // Колбэк в фоновом потоке, как только проверка утилит закончена
+    public void whenReady(Consumer<Platform> callback) {
+        tools.whenCompleteAsync((found, e) -> callback.accept(this), CommandRunner.shared().executor());
+    }
+
+    private static Os osOf(String name) {
+        String os = name.toLowerCase(Locale.ROOT);
+        if (os.contains("linux")) return Os.LINUX;
+        if (os.contains("windows")) return Os.WINDOWS;
+        if (os.contains("mac")) return Os.MAC;
+        return Os.OTHER;
+    }
+
+    private static Set<String> findTools(Os os) {
+        String path = System.getenv("PATH");
+        if (path == null) return Set.of();
+        List<String> extensions = os == Os.WINDOWS
+                ? List.of(Objects.requireNonNullElse(System.getenv("PATHEXT"), ".EXE").toLowerCase(Locale.ROOT).split(";"))
+                : List.of("");
+
+        Set<String> found = new HashSet<>();
+        for (String dir : path.split(File.pathSeparator)) {
+            if (dir.isEmpty()) continue;
+            for (String tool : TOOLS) {
+                if (found.contains(tool)) continue;
+                for (String ext : extensions) {
+                    Path candidate = Path.of(dir, tool + ext);
+                    if (Files.isRegularFile(candidate) && Files.isExecutable(candidate)) {
+                        found.add(tool);
+                        break;
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableSet(found);
+    }
+
+    @Override
+    public String toString() {
+        return os + " " + tools.getNow(Set.of());
+    }
+}
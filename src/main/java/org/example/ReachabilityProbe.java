@@ -0,0 +1,219 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.*;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// Проверка доступа в интернет после подключения. Вместо последовательных ping
+// параллельно запускаются несколько проб с общим коротким сроком:
+//   - HTTP-проверка решает ONLINE/CAPTIVE_PORTAL (204 — интернет, любой другой ответ — портал)
+//   - TCP-соединение с DNS-серверами и шлюз по умолчанию лишь отличают LOCAL_ONLY от OFFLINE:
+//     портал часто пропускает DNS, поэтому соединение с ним интернет не подтверждает.
+//     Шлюз проверяется по ARP (таблица соседей), а не ping: эхо-запросы шлюзы обычно режут
+// Без HTTP-пробы (пустая wifi.probe.http) ONLINE решают DNS-серверы.
+// Цели настраиваются системными свойствами wifi.probe.*
+public class ReachabilityProbe {
+    public enum State { ONLINE, CAPTIVE_PORTAL, LOCAL_ONLY, OFFLINE }
+
+    private static final String DEFAULT_HTTP = "http://connectivitycheck.gstatic.com/generate_204";
+    private static final String DEFAULT_DNS = "8.8.8.8:53,1.1.1.1:53";
+    private static final long DEFAULT_TIMEOUT_MS = 2000;
+    private static final long NEIGHBOUR_POLL_MS = 100;
+    private static final int DISCARD_PORT = 9;
+
+    private final ComponentLogger logger;
+    private final CommandRunner runner = CommandRunner.shared();
+    private final Executor executor = runner.executor();
+    private final URI httpTarget;
+    private final List<InetSocketAddress> dnsTargets;
+    private final boolean probeGateway;
+    private final long timeoutMs;
+    private final HttpClient http;
+
+    public ReachabilityProbe(Consumer<String> logger) {
+        this(logger,
+                System.getProperty("wifi.probe.http", DEFAULT_HTTP),
+                System.getProperty("wifi.probe.dns", DEFAULT_DNS),
+                Boolean.parseBoolean(System.getProperty("wifi.probe.gateway", "true")),
+                Long.getLong("wifi.probe.timeout", DEFAULT_TIMEOUT_MS));
+    }
+
+    // Пустая строка отключает соответствующую пробу
+    public ReachabilityProbe(Consumer<String> logger, String httpTarget, String dnsTargets,
+                             boolean probeGateway, long timeoutMs) {
+        this.logger = ComponentLogger.of(logger);
+        this.httpTarget = httpTarget == null || httpTarget.isBlank() ? null : URI.create(httpTarget.trim());
+        this.dnsTargets = parseAddresses(dnsTargets);
+        this.probeGateway = probeGateway;
+        this.timeoutMs = timeoutMs;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+    }
+
+    // === Проба ===
+    // Ответ HTTP завершает ожидание сразу. Если его нет до срока, состояние определяют
+    // остальные пробы: до DNS-серверов или шлюза достучались — LOCAL_ONLY, иначе OFFLINE
+    public State probe() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        CompletableFuture<State> httpState = httpTarget == null
+                ? CompletableFuture.completedFuture(null)
+                : http.sendAsync(HttpRequest.newBuilder(httpTarget)
+                                .timeout(Duration.ofMillis(timeoutMs))
+                                .header("Cache-Control", "no-cache")
+                                .GET().build(), HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> response.statusCode() == 204 ? State.ONLINE : State.CAPTIVE_PORTAL)
+                        .exceptionally(e -> null);
+
+        // Любой ответивший DNS-сервер завершает ожидание, все провалившиеся — тоже
+        CompletableFuture<Boolean> dnsReached = new CompletableFuture<>();
+        List<CompletableFuture<?>> probes = new ArrayList<>();
+        for (InetSocketAddress target : dnsTargets) {
+            probes.add(CompletableFuture.runAsync(() -> {
+                if (connects(target)) dnsReached.complete(true);
+            }, executor));
+        }
+        CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((v, e) -> dnsReached.complete(false));
+
+        CompletableFuture<Boolean> gateway = probeGateway
+                ? CompletableFuture.supplyAsync(this::gatewayReachable, executor)
+                : CompletableFuture.completedFuture(false);
+
+        State state = await(httpState, deadline, null);
+        if (state == null) {
+            if (await(dnsReached, deadline, false)) {
+                state = httpTarget == null ? State.ONLINE : State.LOCAL_ONLY;
+            } else {
+                state = await(gateway, deadline, false) ? State.LOCAL_ONLY : State.OFFLINE;
+            }
+        }
+        httpState.cancel(true);
+        probes.forEach(p -> p.cancel(true));
+        gateway.cancel(true);
+
+        logger.log(state == State.ONLINE ? LogLevel.SUCCESS : LogLevel.WARNING, "Доступ в интернет: " + state);
+        return state;
+    }
+
+    // Результат пробы, если он готов до общего срока, иначе fallback
+    private static <T> T await(CompletableFuture<T> future, long deadline, T fallback) {
+        try {
+            T value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return value == null ? fallback : value;
+        } catch (TimeoutException | ExecutionException | CancellationException e) {
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        }
+    }
+
+    public boolean isOnline() {
+        return probe() == State.ONLINE;
+    }
+
+    // === Отдельные пробы ===
+    private boolean connects(InetSocketAddress target) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(target.getHostString(), target.getPort()), (int) timeoutMs);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Датаграмма на порт discard заставляет ядро разрешить MAC шлюза, ответ на ARP ищется
+    // в таблице соседей до срока пробы. Сама датаграмма может быть отброшена — важен только ARP
+    private boolean gatewayReachable() {
+        InetAddress gateway = defaultGateway();
+        if (gateway == null) return false;
+        if (hasNeighbour(gateway)) return true;
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.send(new DatagramPacket(new byte[1], 1, gateway, DISCARD_PORT));
+        } catch (IOException e) {
+            return false;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(NEIGHBOUR_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (hasNeighbour(gateway)) return true;
+        }
+        return false;
+    }
+
+    // ip neigh: запись с MAC (lladdr) в любом состоянии, кроме FAILED и INCOMPLETE.
+    // Без iproute2 — та же таблица из /proc/net/arp (флаг 0x2 — адрес разрешён)
+    private boolean hasNeighbour(InetAddress gateway) {
+        String address = gateway.getHostAddress();
+        CommandResult result = runner.run(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)),
+                "ip", "-4", "neigh", "show", address);
+        if (result.isSuccess()) {
+            String out = result.getOutput();
+            return out.contains("lladdr") && !out.contains("FAILED") && !out.contains("INCOMPLETE");
+        }
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/net/arp"))) {
+                String[] f = line.trim().split("\\s+");
+                if (f.length >= 4 && f[0].equals(address)) {
+                    return (Integer.decode(f[2]) & 0x2) != 0 && !f[3].equals("00:00:00:00:00:00");
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+        return false;
+    }
+
+    // Шлюз по умолчанию из таблицы маршрутов ядра (Linux); на других системах проба пропускается
+    private static InetAddress defaultGateway() {
+        Path routes = Path.of("/proc/net/route");
+        if (!Files.isReadable(routes)) return null;
+        try {
+            for (String line : Files.readAllLines(routes)) {
+                String[] f = line.trim().split("\\s+");
+                if (f.length < 3 || !f[1].equals("00000000")) continue;
+                int hex = (int) Long.parseLong(f[2], 16);
+                // Адрес записан в порядке байтов хоста (little-endian)
+                return InetAddress.getByAddress(new byte[]{
+                        (byte) hex, (byte) (hex >> 8), (byte) (hex >> 16), (byte) (hex >> 24)});
+            }
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static List<InetSocketAddress> parseAddresses(String spec) {
+        List<InetSocketAddress> out = new ArrayList<>();
+        if (spec == null) return out;
+        for (String part : spec.split(",")) {
+            String s = part.trim();
+            if (s.isEmpty()) continue;
+            int colon = s.lastIndexOf(':');
+            String host = colon > 0 ? s.substring(0, colon) : s;
+            int port = colon > 0 ? Integer.parseInt(s.substring(colon + 1)) : 53;
+            // Имя разрешается в момент пробы, в пределах её срока
+            out.add(InetSocketAddress.createUnresolved(host, port));
+        }
+        return out;
+    }
+
+    private void log(String msg) { logger.info(msg); }
+}
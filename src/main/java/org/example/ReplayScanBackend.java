@@ -0,0 +1,75 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Воспроизводит записанный вывод nmcli -t / netsh: нагрузочные тесты без радио
+public class ReplayScanBackend implements ScanBackend {
+    private final List<Path> captures = new ArrayList<>();
+    private final long periodNanos;
+    private int next = 0;
+    private long nextDue = 0;
+
+    // rate — сканов в секунду; 0 отдаёт записи без пауз
+    public ReplayScanBackend(List<Path> sources, double rate) {
+        for (Path source : sources) {
+            if (Files.isDirectory(source)) {
+                try (Stream<Path> files = Files.list(source)) {
+                    files.filter(Files::isRegularFile).sorted().forEach(captures::add);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Не удалось прочитать каталог " + source, e);
+                }
+            } else {
+                captures.add(source);
+            }
+        }
+        if (captures.isEmpty()) throw new IllegalArgumentException("Нет записей для воспроизведения");
+        this.periodNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+    }
+
+    @Override
+    public String getName() { return "replay"; }
+
+    @Override
+    public synchronized List<WifiNetwork> scan(Consumer<String> progress) throws Exception {
+        if (periodNanos > 0) {
+            long wait = nextDue - System.nanoTime();
+            if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+            nextDue = System.nanoTime() + periodNanos;
+        }
+
+        Path capture = captures.get(next);
+        next = (next + 1) % captures.size();
+        progress.accept("Воспроизведение: " + capture.getFileName());
+
+        try (BufferedReader reader = Files.newBufferedReader(capture, StandardCharsets.UTF_8)) {
+            return isNetshCapture(reader)
+                    ? NetshScanBackend.parse(reader, progress)
+                    : NmcliScanBackend.parse(reader, progress);
+        }
+    }
+
+    // Формат определяем по первой непустой строке: у netsh это "Interface name" или "SSID 1 : ..."
+    private static boolean isNetshCapture(BufferedReader reader) throws IOException {
+        reader.mark(8192);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                return line.startsWith("Interface name") || line.startsWith("There are")
+                        || line.matches("SSID \\d+ : .*");
+            }
+            return false;
+        } finally {
+            reader.reset();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+
+public interface ScanBackend {
+
+    String getName();
+
+    // Один цикл сканирования. Прерывание потока — сигнал отмены
+    List<WifiNetwork> scan(Consumer<String> progress) throws Exception;
+
+    // Расширенные поля одной точки доступа. Дорогой запрос — сканер вызывает его лениво и кэширует
+    default Map<String, String> details(String bssid) throws Exception {
+        return Map.of();
+    }
+
+    // === Выбор реализации ===
+    // -Dwifi.scan.replay=<файл|каталог>[,...] включает воспроизведение записанного вывода,
+    // -Dwifi.scan.replay.rate=<сканов в секунду> (0 — без пауз)
+    static ScanBackend forCurrentSystem() {
+        return forPlatform(Platform.detect());
+    }
+
+    static ScanBackend forPlatform(Platform platform) {
+        String replay = System.getProperty("wifi.scan.replay");
+        if (replay != null && !replay.isBlank()) {
+            List<Path> captures = new ArrayList<>();
+            for (String part : replay.split(",")) captures.add(Path.of(part.trim()));
+            double rate = Double.parseDouble(System.getProperty("wifi.scan.replay.rate", "0"));
+            return new ReplayScanBackend(captures, rate);
+        }
+
+        return switch (platform.getOs()) {
+            case LINUX -> new NmcliScanBackend();
+            case WINDOWS -> new NetshScanBackend();
+            case MAC -> new AirportScanBackend();
+            case OTHER -> new DemoScanBackend();
+        };
+    }
+
+    static int parseSignal(String signal) {
+        try {
+            return Math.min(100, Math.max(0, Integer.parseInt(signal.replaceAll("\\D", ""))));
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
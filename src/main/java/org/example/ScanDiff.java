@@ -0,0 +1,88 @@
+package org.example;
+
+import java.util.*;
+
+public class ScanDiff {
+    private final List<WifiNetwork> added;
+    private final List<WifiNetwork> removed;
+    private final List<WifiNetwork> changed;
+    private final List<WifiNetwork> current;
+    private final ScanSnapshot snapshot;
+
+    private ScanDiff(List<WifiNetwork> added, List<WifiNetwork> removed,
+                     List<WifiNetwork> changed, List<WifiNetwork> current, ScanSnapshot snapshot) {
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+        this.changed = Collections.unmodifiableList(changed);
+        this.current = Collections.unmodifiableList(current);
+        this.snapshot = snapshot;
+    }
+
+    // Дельта между снимками знает, к какому снимку она ведёт — потребитель может применить её один раз
+    public static ScanDiff between(ScanSnapshot previous, ScanSnapshot current) {
+        return between(previous.getNetworks(), current.getNetworks(), current);
+    }
+
+    // === Сравнение двух сканов по ключу сети ===
+    public static ScanDiff between(List<WifiNetwork> previous, List<WifiNetwork> current) {
+        return between(previous, current, null);
+    }
+
+    private static ScanDiff between(List<WifiNetwork> previous, List<WifiNetwork> current, ScanSnapshot snapshot) {
+        Map<String, WifiNetwork> old = new HashMap<>(previous.size() * 2);
+        for (WifiNetwork n : previous) old.put(n.getKey(), n);
+
+        List<WifiNetwork> added = new ArrayList<>();
+        List<WifiNetwork> changed = new ArrayList<>();
+        for (WifiNetwork n : current) {
+            WifiNetwork before = old.remove(n.getKey());
+            if (before == null) {
+                added.add(n);
+            } else if (!sameState(before, n)) {
+                changed.add(n);
+            }
+        }
+        // Всё, что осталось в old, в новом скане не встретилось
+        return new ScanDiff(added, new ArrayList<>(old.values()), changed, current, snapshot);
+    }
+
+    // Сеть не изменилась, только если совпал весь набор точек: у каждой тот же канал и сигнал.
+    // Иначе сдвиг второстепенной точки не доходил бы до анализатора каналов и строк таблицы
+    private static boolean sameState(WifiNetwork a, WifiNetwork b) {
+        if (a.getBssidCount() != b.getBssidCount()
+                || !Objects.equals(a.getSecurity(), b.getSecurity())) return false;
+        List<AccessPoint> old = a.getAccessPoints();
+        for (AccessPoint ap : b.getAccessPoints()) {
+            AccessPoint before = find(old, ap.getBssid());
+            if (before == null
+                    || before.getFrequencyMhz() != ap.getFrequencyMhz()
+                    || before.getSignal() != ap.getSignal()
+                    || before.getSmoothedSignal() != ap.getSmoothedSignal()
+                    || !Objects.equals(before.getRadioType(), ap.getRadioType())) return false;
+        }
+        return true;
+    }
+
+    // Точек у сети единицы — линейный поиск дешевле карты
+    private static AccessPoint find(List<AccessPoint> points, String bssid) {
+        for (AccessPoint ap : points) {
+            if (ap.getBssid().equals(bssid)) return ap;
+        }
+        return null;
+    }
+
+    public List<WifiNetwork> getAdded() { return added; }
+    public List<WifiNetwork> getRemoved() { return removed; }
+    public List<WifiNetwork> getChanged() { return changed; }
+    public List<WifiNetwork> getCurrent() { return current; }
+
+    // Снимок, к которому ведёт дельта; null, если она построена по спискам
+    public ScanSnapshot getSnapshot() { return snapshot; }
+
+    public boolean isEmpty() { return added.isEmpty() && removed.isEmpty() && changed.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "+" + added.size() + " -" + removed.size() + " ~" + changed.size();
+    }
+}
@@ -0,0 +1,538 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// История сканов на диске: файл только дописывается и читается через отображение в память.
+// Заголовок (HEADER байт) хранит длину подтверждённых данных — всё, что дальше, после сбоя
+// считается недописанным и перезаписывается. Данные — поток записей с тегом:
+//   SSID      — новое имя сети в словаре: длина, UTF-8
+//   STATION   — новая точка: 6 байт MAC (или строка, если BSSID не MAC), номер SSID в словаре
+//   BATCH     — один скан, либо только изменившиеся сети по событию монитора: разница времени
+//               с прошлой записью (zigzag varint), число замеров, затем замеры: номер точки (varint),
+//               сигнал (байт), канал (varint)
+// Замер обычно занимает 3-4 байта. Для запросов по времени в памяти держится разреженный
+// индекс: смещение скана и время перед ним примерно через каждые CHECKPOINT_BYTES.
+// Запись — в собственном фоновом потоке; запросы читают подтверждённую часть без блокировок
+public class ScanHistoryStore implements AutoCloseable {
+    private static final int MAGIC = 0x57464853; // "WFHS"
+    private static final int VERSION = 1;
+    private static final int HEADER = 64;
+    private static final int OFF_COMMITTED = 8;
+    private static final int OFF_RECORDS = 16;
+    private static final int OFF_FIRST_TS = 24;
+    private static final int OFF_LAST_TS = 32;
+
+    private static final byte TAG_SSID = 1;
+    private static final byte TAG_STATION_MAC = 2;
+    private static final byte TAG_STATION_NAME = 3;
+    private static final byte TAG_BATCH = 4;
+
+    private static final long INITIAL_SIZE = 1 << 20;
+    // Одно отображение адресуется int, поэтому файл ограничен 1 ГиБ — это месяцы сканов
+    private static final long MAX_SIZE = 1L << 30;
+    private static final int CHECKPOINT_BYTES = 64 * 1024;
+
+    // Замеры выдаются без объектов на запись
+    public interface SampleVisitor {
+        void visit(long timestamp, int station, int signal, int channel);
+    }
+
+    private final Path file;
+    private final ComponentLogger logger;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ScanHistoryStore");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private FileChannel channel;
+    // Отображение заменяется до того, как committed выходит за его старую ёмкость
+    private volatile MappedByteBuffer map;
+    private volatile long committed = HEADER;
+    private volatile long records = 0;
+    private volatile long firstTs = 0;
+    private long lastTs = 0;
+    private boolean full = false;
+
+    // Словари: номер — позиция. Массивы заменяются целиком, счётчик публикуется последним,
+    // поэтому читатель берёт сначала счётчик, затем массив: тот не короче счётчика
+    private final Map<String, Integer> ssidIds = new HashMap<>();
+    private final Map<String, Integer> stationIds = new HashMap<>();
+    private volatile String[] ssids = new String[64];
+    private volatile int ssidCount = 0;
+    private volatile String[] stationBssids = new String[256];
+    private volatile int[] stationSsids = new int[256];
+    private volatile int stationCount = 0;
+
+    // Разреженный индекс по времени: смещение записи BATCH и время предыдущего скана
+    private volatile long[] checkpointOffsets = new long[64];
+    private volatile long[] checkpointBaseTs = new long[64];
+    private volatile int checkpointCount = 0;
+    private long lastCheckpoint = -CHECKPOINT_BYTES;
+
+    public ScanHistoryStore(Path file, Consumer<String> logger) {
+        this.file = file;
+        this.logger = ComponentLogger.of(logger);
+    }
+
+    // -Dwifi.history.file=<путь> переопределяет место хранения
+    public static Path defaultFile() {
+        String custom = System.getProperty("wifi.history.file");
+        if (custom != null && !custom.isBlank()) return Path.of(custom);
+        return Path.of(System.getProperty("user.home"), ".wifi-connector", "scan-history.bin");
+    }
+
+    private void log(String msg) {
+        logger.info(msg);
+    }
+
+    // Ключ словаря: MAC в верхнем регистре, как его восстанавливает formatMac
+    private static String normalize(String bssid) {
+        return isMac(bssid) ? bssid.toUpperCase(Locale.ROOT) : bssid;
+    }
+
+    // Запускает open() в потоке записи: сканы, поставленные раньше открытия, подождут его
+    public void start() {
+        writer.execute(() -> {
+            try {
+                open();
+            } catch (IOException e) {
+                logger.error("История сканов недоступна: " + e.getMessage());
+            }
+        });
+    }
+
+    // === Открытие ===
+    // Словари и индекс восстанавливаются одним последовательным проходом по файлу
+    public synchronized void open() throws IOException {
+        if (channel != null) return;
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        boolean existed = Files.exists(file) && Files.size(file) >= HEADER;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (existed) {
+            remap(Math.max(channel.size(), INITIAL_SIZE));
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+                channel.close();
+                Path bad = file.resolveSibling(file.getFileName() + ".bad");
+                Files.move(file, bad, StandardCopyOption.REPLACE_EXISTING);
+                logger.warn("История сканов повреждена, сохранена как " + bad + ", начинаем новую");
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                existed = false;
+            }
+        }
+        if (!existed) {
+            remap(INITIAL_SIZE);
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            writeHeader(HEADER);
+            return;
+        }
+
+        long end = Math.min(map.getLong(OFF_COMMITTED), map.capacity());
+        firstTs = map.getLong(OFF_FIRST_TS);
+        recover(end);
+        log("История сканов: " + records + " замеров, " + stationCount + " точек, " + (committed >> 10) + " КБ");
+    }
+
+    private void recover(long end) {
+        int pos = HEADER;
+        long ts = 0;
+        long count = 0;
+        MappedByteBuffer m = map;
+        try {
+            while (pos < end) {
+                int start = pos;
+                byte tag = m.get(pos++);
+                switch (tag) {
+                    case TAG_SSID -> {
+                        int len = (int) readVarint(m, pos);
+                        pos += varintSize(len);
+                        byte[] bytes = new byte[len];
+                        m.get(pos, bytes);
+                        pos += len;
+                        addSsid(new String(bytes, StandardCharsets.UTF_8));
+                    }
+                    case TAG_STATION_MAC, TAG_STATION_NAME -> {
+                        String bssid;
+                        if (tag == TAG_STATION_MAC) {
+                            bssid = formatMac(m, pos);
+                            pos += 6;
+                        } else {
+                            int len = (int) readVarint(m, pos);
+                            pos += varintSize(len);
+                            byte[] bytes = new byte[len];
+                            m.get(pos, bytes);
+                            pos += len;
+                            bssid = new String(bytes, StandardCharsets.UTF_8);
+                        }
+                        long ssid = readVarint(m, pos);
+                        pos += varintSize(ssid);
+                        addStation(bssid, (int) ssid);
+                    }
+                    case TAG_BATCH -> {
+                        long delta = readVarint(m, pos);
+                        pos += varintSize(delta);
+                        long n = readVarint(m, pos);
+                        pos += varintSize(n);
+                        for (long i = 0; i < n; i++) {
+                            long station = readVarint(m, pos);
+                            pos += varintSize(station) + 1;
+                            pos += varintSize(readVarint(m, pos));
+                        }
+                        if (pos > end) break;
+                        addCheckpoint(start, ts);
+                        ts += unzigzag(delta);
+                        count += n;
+                    }
+                    default -> throw new IllegalStateException("tag " + tag + " @" + start);
+                }
+                if (pos > end) throw new IllegalStateException("обрыв записи @" + start);
+                committed = pos;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("История сканов обрезана до " + committed + " байт: " + e.getMessage());
+        }
+        lastTs = ts;
+        records = count;
+        writeHeader(committed);
+    }
+
+    // === Запись ===
+    // Скан ставится в очередь фонового потока; вызывать можно из любого потока
+    public void record(List<WifiNetwork> networks, long timestamp) {
+        if (networks.isEmpty()) return;
+        writer.execute(() -> {
+            try {
+                append(networks, timestamp);
+            } catch (Exception e) {
+                logger.error("Ошибка записи истории сканов: " + e.getMessage());
+            }
+        });
+    }
+
+    synchronized void append(List<WifiNetwork> networks, long timestamp) throws IOException {
+        if (channel == null || full) return;
+
+        int samples = 0;
+        int worstCase = 32;
+        for (WifiNetwork n : networks) {
+            worstCase += 16 + n.getSsid().length() * 3;
+            for (AccessPoint ap : n.getAccessPoints()) {
+                worstCase += 40 + ap.getBssid().length() * 3;
+                samples++;
+            }
+        }
+        if (!ensureCapacity(committed + worstCase)) {
+            full = true;
+            logger.warn("История сканов достигла " + (MAX_SIZE >> 20) + " МБ, запись остановлена");
+            return;
+        }
+
+        MappedByteBuffer m = map;
+        int pos = (int) committed;
+        // Сначала новые слова словаря, затем сам скан
+        int[] stations = new int[samples];
+        int k = 0;
+        for (WifiNetwork n : networks) {
+            Integer ssid = ssidIds.get(n.getSsid());
+            if (ssid == null) {
+                byte[] bytes = n.getSsid().getBytes(StandardCharsets.UTF_8);
+                m.put(pos++, TAG_SSID);
+                pos = writeVarint(m, pos, bytes.length);
+                m.put(pos, bytes);
+                pos += bytes.length;
+                ssid = addSsid(n.getSsid());
+            }
+            for (AccessPoint ap : n.getAccessPoints()) {
+                String bssid = normalize(ap.getBssid());
+                Integer station = stationIds.get(bssid);
+                if (station == null) {
+                    if (isMac(bssid)) {
+                        m.put(pos++, TAG_STATION_MAC);
+                        pos = writeMac(m, pos, bssid);
+                    } else {
+                        byte[] bytes = bssid.getBytes(StandardCharsets.UTF_8);
+                        m.put(pos++, TAG_STATION_NAME);
+                        pos = writeVarint(m, pos, bytes.length);
+                        m.put(pos, bytes);
+                        pos += bytes.length;
+                    }
+                    pos = writeVarint(m, pos, ssid);
+                    station = addStation(bssid, ssid);
+                }
+                stations[k++] = station;
+            }
+        }
+
+        addCheckpoint(pos, lastTs);
+        m.put(pos++, TAG_BATCH);
+        pos = writeVarint(m, pos, zigzag(timestamp - lastTs));
+        pos = writeVarint(m, pos, samples);
+        k = 0;
+        for (WifiNetwork n : networks) {
+            for (AccessPoint ap : n.getAccessPoints()) {
+                pos = writeVarint(m, pos, stations[k++]);
+                m.put(pos++, (byte) Math.min(100, Math.max(0, ap.getSignal())));
+                pos = writeVarint(m, pos, Math.max(0, ap.getChannel()));
+            }
+        }
+
+        lastTs = timestamp;
+        if (records == 0) firstTs = timestamp;
+        records += samples;
+        writeHeader(pos);
+    }
+
+    // Данные уже в отображении; длина в заголовке пишется последней и подтверждает их
+    private void writeHeader(long end) {
+        MappedByteBuffer m = map;
+        m.putLong(OFF_RECORDS, records);
+        m.putLong(OFF_FIRST_TS, firstTs);
+        m.putLong(OFF_LAST_TS, lastTs);
+        m.putLong(OFF_COMMITTED, end);
+        committed = end;
+    }
+
+    private boolean ensureCapacity(long needed) throws IOException {
+        if (needed <= map.capacity()) return true;
+        if (needed > MAX_SIZE) return false;
+        long size = map.capacity();
+        while (size < needed) size *= 2;
+        remap(Math.min(size, MAX_SIZE));
+        return true;
+    }
+
+    private void remap(long size) throws IOException {
+        MappedByteBuffer m = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        m.order(ByteOrder.LITTLE_ENDIAN);
+        map = m;
+    }
+
+    // Дожидается очереди записи и сбрасывает отображение на диск
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeFile();
+    }
+
+    private synchronized void closeFile() {
+        if (channel == null) return;
+        try {
+            map.force();
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Ошибка закрытия истории сканов: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    // === Словари и индекс (пишет только поток записи или open) ===
+    private int addSsid(String ssid) {
+        int id = ssidCount;
+        if (id == ssids.length) ssids = Arrays.copyOf(ssids, id * 2);
+        ssids[id] = ssid;
+        ssidIds.put(ssid, id);
+        ssidCount = id + 1;
+        return id;
+    }
+
+    private int addStation(String bssid, int ssid) {
+        int id = stationCount;
+        if (id == stationBssids.length) {
+            stationBssids = Arrays.copyOf(stationBssids, id * 2);
+            stationSsids = Arrays.copyOf(stationSsids, id * 2);
+        }
+        stationBssids[id] = bssid;
+        stationSsids[id] = ssid;
+        stationIds.put(bssid, id);
+        stationCount = id + 1;
+        return id;
+    }
+
+    private void addCheckpoint(long offset, long baseTs) {
+        if (offset - lastCheckpoint < CHECKPOINT_BYTES) return;
+        int i = checkpointCount;
+        if (i == checkpointOffsets.length) {
+            checkpointOffsets = Arrays.copyOf(checkpointOffsets, i * 2);
+            checkpointBaseTs = Arrays.copyOf(checkpointBaseTs, i * 2);
+        }
+        checkpointOffsets[i] = offset;
+        checkpointBaseTs[i] = baseTs;
+        checkpointCount = i + 1;
+        lastCheckpoint = offset;
+    }
+
+    // === Чтение (любой поток) ===
+    public long getRecordCount() { return records; }
+    public long getFirstTimestamp() { return firstTs; }
+    public long getSizeBytes() { return committed; }
+    public int getStationCount() { return stationCount; }
+
+    // Номер точки — из stationOf или query, то есть уже опубликованный
+    public String bssidOf(int station) {
+        checkStation(station);
+        return stationBssids[station];
+    }
+
+    public String ssidOf(int station) {
+        checkStation(station);
+        return ssids[stationSsids[station]];
+    }
+
+    // Чтение stationCount до массивов: точка и её SSID записаны раньше счётчика
+    private void checkStation(int station) {
+        if (station < 0 || station >= stationCount) throw new IndexOutOfBoundsException("station " + station);
+    }
+
+    // -1, если точка в истории не встречалась
+    public int stationOf(String bssid) {
+        String key = normalize(bssid);
+        int n = stationCount;
+        String[] names = stationBssids;
+        for (int i = 0; i < n; i++) {
+            if (names[i].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    // Все замеры в [from, to] по возрастанию времени
+    public void query(long from, long to, SampleVisitor visitor) {
+        query(-1, from, to, visitor);
+    }
+
+    // Замеры одной точки (station >= 0) или всех (station < 0). Чтение начинается с ближайшей
+    // контрольной точки индекса и останавливается на первом скане позже to; в куче ничего не копится
+    // Сначала volatile-длины (committed, checkpointCount), потом то, что они покрывают
+    public void query(int station, long from, long to, SampleVisitor visitor) {
+        long end = committed;
+        MappedByteBuffer m = map;
+        if (m == null || end <= HEADER) return;
+
+        int checkpoints = checkpointCount;
+        long[] offsets = checkpointOffsets;
+        long[] bases = checkpointBaseTs;
+        // Скан со временем base лежит до контрольной точки: при from == base начинать с неё нельзя
+        int lo = 0, hi = checkpoints - 1, start = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bases[mid] < from) { start = mid; lo = mid + 1; } else hi = mid - 1;
+        }
+        int pos = start < 0 ? HEADER : (int) offsets[start];
+        long ts = start < 0 ? 0 : bases[start];
+
+        while (pos < end) {
+            byte tag = m.get(pos++);
+            switch (tag) {
+                case TAG_SSID -> {
+                    long len = readVarint(m, pos);
+                    pos += varintSize(len) + (int) len;
+                }
+                case TAG_STATION_MAC -> {
+                    pos += 6;
+                    pos += varintSize(readVarint(m, pos));
+                }
+                case TAG_STATION_NAME -> {
+                    long len = readVarint(m, pos);
+                    pos += varintSize(len) + (int) len;
+                    pos += varintSize(readVarint(m, pos));
+                }
+                case TAG_BATCH -> {
+                    long delta = readVarint(m, pos);
+                    pos += varintSize(delta);
+                    long n = readVarint(m, pos);
+                    pos += varintSize(n);
+                    ts += unzigzag(delta);
+                    if (ts > to) return;
+                    boolean inRange = ts >= from;
+                    for (long i = 0; i < n; i++) {
+                        int id = (int) readVarint(m, pos);
+                        pos += varintSize(id);
+                        int signal = m.get(pos++);
+                        int ch = (int) readVarint(m, pos);
+                        pos += varintSize(ch);
+                        if (inRange && (station < 0 || id == station)) visitor.visit(ts, id, signal, ch);
+                    }
+                }
+                default -> { return; }
+            }
+        }
+    }
+
+    // === Кодирование ===
+    private static long zigzag(long v) { return (v << 1) ^ (v >> 63); }
+    private static long unzigzag(long v) { return (v >>> 1) ^ -(v & 1); }
+
+    private static int writeVarint(MappedByteBuffer m, int pos, long v) {
+        while ((v & ~0x7FL) != 0) {
+            m.put(pos++, (byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        m.put(pos++, (byte) v);
+        return pos;
+    }
+
+    private static long readVarint(MappedByteBuffer m, int pos) {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = m.get(pos++);
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IllegalStateException("varint @" + pos);
+    }
+
+    private static int varintSize(long v) {
+        int size = 1;
+        while ((v & ~0x7FL) != 0) {
+            v >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static boolean isMac(String bssid) {
+        if (bssid.length() != 17) return false;
+        for (int i = 0; i < 17; i++) {
+            char c = bssid.charAt(i);
+            if (i % 3 == 2 ? c != ':' : Character.digit(c, 16) < 0) return false;
+        }
+        return true;
+    }
+
+    private static int writeMac(MappedByteBuffer m, int pos, String mac) {
+        for (int i = 0; i < 6; i++) {
+            m.put(pos++, (byte) Integer.parseInt(mac, i * 3, i * 3 + 2, 16));
+        }
+        return pos;
+    }
+
+    private static String formatMac(MappedByteBuffer m, int pos) {
+        StringBuilder sb = new StringBuilder(17);
+        for (int i = 0; i < 6; i++) {
+            if (i > 0) sb.append(':');
+            String hex = Integer.toHexString(m.get(pos + i) & 0xFF).toUpperCase(Locale.ROOT);
+            if (hex.length() == 1) sb.append('0');
+            sb.append(hex);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,215 @@
+package org.example;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+// Сортировка и фильтр ScanTableModel на массивах номеров строк. TableRowSorter заворачивает
+// каждую строку в объект и на каждое сравнение упаковывает значения через getValueAt;
+// здесь сравнение идёт по примитивным полям модели, а порядок хранится в int[].
+// Полная сортировка — только при смене столбца, фильтра или всей модели; вставленные
+// и изменённые строки встают на место двоичным поиском, удалённые вырезаются
+public class ScanRowSorter extends RowSorter<ScanTableModel> {
+    private final ScanTableModel model;
+    private List<SortKey> sortKeys;
+    private Predicate<WifiNetwork> filter = n -> true;
+
+    private int[] viewToModel = new int[0];
+    private int[] modelToView = new int[0];
+    private int viewCount = 0;
+    private int[] buffer = new int[0];
+
+    public ScanRowSorter(ScanTableModel model, int column, SortOrder order) {
+        this.model = model;
+        this.sortKeys = List.of(new SortKey(column, order));
+        rebuild();
+    }
+
+    public void setFilter(Predicate<WifiNetwork> filter) {
+        this.filter = filter == null ? n -> true : filter;
+        int[] old = snapshot();
+        rebuild();
+        fireRowSorterChanged(old);
+    }
+
+    // === Сортировка ===
+    @Override
+    public ScanTableModel getModel() { return model; }
+
+    // Повторный щелчок по столбцу меняет направление; числа сначала по убыванию, текст — по возрастанию
+    @Override
+    public void toggleSortOrder(int column) {
+        SortOrder order;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) {
+            order = sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+        } else {
+            boolean text = column == ScanTableModel.SSID || column == ScanTableModel.SECURITY;
+            order = text ? SortOrder.ASCENDING : SortOrder.DESCENDING;
+        }
+        setSortKeys(List.of(new SortKey(column, order)));
+    }
+
+    // Учитывается только первый ключ: таблица сортируется по одному столбцу
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        SortKey key = keys == null || keys.isEmpty() ? null : keys.get(0);
+        sortKeys = key == null || key.getSortOrder() == SortOrder.UNSORTED ? List.of() : List.of(key);
+        fireSortOrderChanged();
+        int[] old = snapshot();
+        rebuild();
+        fireRowSorterChanged(old);
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() { return sortKeys; }
+
+    private int compare(int a, int b) {
+        if (sortKeys.isEmpty()) return Integer.compare(a, b);
+        SortKey key = sortKeys.get(0);
+        int c = model.compare(key.getColumn(), a, b);
+        return key.getSortOrder() == SortOrder.DESCENDING ? -c : c;
+    }
+
+    // === Преобразование индексов ===
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (index < 0 || index >= viewCount) throw new IndexOutOfBoundsException("Invalid index");
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (index < 0 || index >= modelToView.length) throw new IndexOutOfBoundsException("Invalid index");
+        return modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() { return viewCount; }
+
+    @Override
+    public int getModelRowCount() { return model.getRowCount(); }
+
+    // === События модели (JTable вызывает их сам, до перерисовки) ===
+    @Override
+    public void modelStructureChanged() { allRowsChanged(); }
+
+    @Override
+    public void allRowsChanged() {
+        int[] old = snapshot();
+        rebuild();
+        fireRowSorterChanged(old);
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        int[] old = snapshot();
+        int count = endRow - firstRow + 1;
+        for (int v = 0; v < viewCount; v++) {
+            if (viewToModel[v] >= firstRow) viewToModel[v] += count;
+        }
+        ensureCapacity(model.getRowCount());
+        for (int m = firstRow; m <= endRow; m++) insert(m);
+        reindex();
+        fireRowSorterChanged(old);
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        int[] old = snapshot();
+        int count = endRow - firstRow + 1;
+        int kept = 0;
+        for (int v = 0; v < viewCount; v++) {
+            int m = viewToModel[v];
+            if (m >= firstRow && m <= endRow) continue;
+            viewToModel[kept++] = m > endRow ? m - count : m;
+        }
+        viewCount = kept;
+        reindex();
+        fireRowSorterChanged(old);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        int[] old = snapshot();
+        int kept = 0;
+        for (int v = 0; v < viewCount; v++) {
+            int m = viewToModel[v];
+            if (m < firstRow || m > endRow) viewToModel[kept++] = m;
+        }
+        viewCount = kept;
+        for (int m = firstRow; m <= endRow; m++) insert(m);
+        reindex();
+        fireRowSorterChanged(old);
+    }
+
+    // Обновление одного столбца сдвигает строки, только если по нему идёт сортировка.
+    // Время последнего скана у всех видимых сетей одинаковое, поэтому LAST_SEEN порядок не меняет
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        if (column == ScanTableModel.LAST_SEEN || sortKeys.isEmpty() || sortKeys.get(0).getColumn() != column) return;
+        rowsUpdated(firstRow, endRow);
+    }
+
+    // === Внутреннее ===
+    private void rebuild() {
+        int rows = model.getRowCount();
+        ensureCapacity(rows);
+        viewCount = 0;
+        for (int m = 0; m < rows; m++) {
+            if (filter.test(model.getNetwork(m))) viewToModel[viewCount++] = m;
+        }
+        mergeSort(0, viewCount);
+        reindex();
+    }
+
+    // Строка модели встаёт в отсортированный вид двоичным поиском, если проходит фильтр
+    private void insert(int m) {
+        if (!filter.test(model.getNetwork(m))) return;
+        int lo = 0, hi = viewCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(viewToModel[mid], m) <= 0) lo = mid + 1; else hi = mid;
+        }
+        System.arraycopy(viewToModel, lo, viewToModel, lo + 1, viewCount - lo);
+        viewToModel[lo] = m;
+        viewCount++;
+    }
+
+    private void reindex() {
+        int rows = model.getRowCount();
+        if (modelToView.length != rows) modelToView = new int[rows];
+        Arrays.fill(modelToView, -1);
+        for (int v = 0; v < viewCount; v++) modelToView[viewToModel[v]] = v;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (viewToModel.length < rows) {
+            int size = Math.max(rows, viewToModel.length * 2);
+            viewToModel = Arrays.copyOf(viewToModel, size);
+            buffer = new int[size];
+        }
+    }
+
+    // Прежний порядок нужен JTable, чтобы перенести выделение
+    private int[] snapshot() {
+        return Arrays.copyOf(viewToModel, viewCount);
+    }
+
+    // Устойчивая сортировка слиянием по int[] с общим буфером — без объектов на строку
+    private void mergeSort(int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        mergeSort(from, mid);
+        mergeSort(mid, to);
+        if (compare(viewToModel[mid - 1], viewToModel[mid]) <= 0) return;
+        System.arraycopy(viewToModel, from, buffer, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            viewToModel[k++] = compare(buffer[i], buffer[j]) <= 0 ? buffer[i++] : buffer[j++];
+        }
+        while (i < mid) viewToModel[k++] = buffer[i++];
+        while (j < to) viewToModel[k++] = buffer[j++];
+    }
+}
@@ -0,0 +1,102 @@
+package org.example;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+// Адаптивный интервал автосканирования вместо фиксированного scheduleAtFixedRate.
+// Интервал пересчитывается после каждого скана, ручного или автоматического:
+//   - сети появляются и пропадают или подключённая сеть слабая — чаще, до base/3
+//   - результаты стабильны — реже, до base*4
+//   - окно скрыто или свёрнуто, идёт мониторинг NetworkManager — скан пропускается
+// Работает на EDT (javax.swing.Timer): один одноразовый таймер, который перевзводится
+public class ScanScheduler {
+    private static final int MIN_INTERVAL_SEC = 5;
+    private static final int WEAK_SIGNAL = 40;
+    private static final double CHURN_RATIO = 0.25;
+    private static final double BACKOFF = 1.5;
+
+    private final Runnable scan;
+    private final BooleanSupplier visible;
+    private final BooleanSupplier paused;
+    private final IntSupplier linkSignal;
+    private final javax.swing.Timer timer;
+
+    private boolean enabled = false;
+    private long minMs;
+    private long maxMs;
+    private long intervalMs;
+    private long lastScanAt = 0;
+
+    // linkSignal — сигнал подключённой сети, -1 если не подключены
+    public ScanScheduler(Runnable scan, BooleanSupplier visible, BooleanSupplier paused, IntSupplier linkSignal) {
+        this.scan = scan;
+        this.visible = visible;
+        this.paused = paused;
+        this.linkSignal = linkSignal;
+        this.timer = new javax.swing.Timer(0, e -> fire());
+        this.timer.setRepeats(false);
+    }
+
+    // === Настройка ===
+    public void configure(int baseSec, boolean enabled) {
+        this.enabled = enabled;
+        long baseMs = baseSec * 1000L;
+        this.minMs = Math.max(MIN_INTERVAL_SEC * 1000L, baseMs / 3);
+        this.maxMs = baseMs * 4;
+        this.intervalMs = baseMs;
+        arm(intervalMs);
+    }
+
+    public void stop() {
+        enabled = false;
+        timer.stop();
+    }
+
+    public long getIntervalMs() { return intervalMs; }
+
+    // Окно снова показано: если очередной скан уже просрочен, запускаем сразу
+    public void wake() {
+        if (!enabled) return;
+        long due = lastScanAt + intervalMs - System.currentTimeMillis();
+        arm(Math.max(0, due));
+    }
+
+    // === Результат скана (из EDT) ===
+    public void scanCompleted(ScanDiff diff) {
+        lastScanAt = System.currentTimeMillis();
+        if (!enabled) return;
+
+        int size = Math.max(1, diff.getCurrent().size());
+        boolean changing = !diff.getAdded().isEmpty() || !diff.getRemoved().isEmpty()
+                || diff.getChanged().size() > size * CHURN_RATIO;
+        int signal = linkSignal.getAsInt();
+        boolean weakLink = signal >= 0 && signal < WEAK_SIGNAL;
+
+        if (weakLink) {
+            intervalMs = minMs;
+        } else if (changing) {
+            intervalMs = Math.max(minMs, intervalMs / 2);
+        } else {
+            intervalMs = Math.min(maxMs, (long) (intervalMs * BACKOFF));
+        }
+        arm(intervalMs);
+    }
+
+    private void fire() {
+        if (!enabled) return;
+        if (!visible.getAsBoolean() || paused.getAsBoolean()) {
+            arm(maxMs);
+            return;
+        }
+        scan.run();
+        // Страховка: если результат не придёт, таймер всё равно сработает снова
+        arm(maxMs);
+    }
+
+    private void arm(long delayMs) {
+        timer.stop();
+        if (!enabled) return;
+        timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, delayMs));
+        timer.start();
+    }
+}
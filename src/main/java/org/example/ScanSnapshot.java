@@ -0,0 +1,99 @@
+package org.example;
+
+import java.util.*;
+
+// Результат одного скана. Неизменяемый и публикуется целиком одной volatile-записью,
+// поэтому рендерер, фильтры и детали читают его без блокировок.
+// Сети хранятся по убыванию сигнала, индексы строятся один раз при создании снимка:
+// позиция сети в списке — это номер бита во всех битовых множествах
+public final class ScanSnapshot {
+    private static final Security[] SECURITIES = Security.values();
+    private static final Band[] BANDS = Band.values();
+
+    public static final ScanSnapshot EMPTY = new ScanSnapshot(List.of(), 0);
+
+    private final List<WifiNetwork> networks;
+    private final long timestamp;
+    private final int[] signals;
+    private final BitSet[] bySecurity = new BitSet[SECURITIES.length];
+    private final BitSet[] byBand = new BitSet[BANDS.length];
+    private final Map<String, WifiNetwork> bySsid;
+    private final Map<String, WifiNetwork> byBssid;
+
+    public ScanSnapshot(List<WifiNetwork> networks, long timestamp) {
+        WifiNetwork[] sorted = networks.toArray(new WifiNetwork[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(b.getSignalStrength(), a.getSignalStrength()));
+        this.networks = List.of(sorted);
+        this.timestamp = timestamp;
+
+        int n = sorted.length;
+        this.signals = new int[n];
+        for (int s = 0; s < bySecurity.length; s++) bySecurity[s] = new BitSet(n);
+        for (int b = 0; b < byBand.length; b++) byBand[b] = new BitSet(n);
+        Map<String, WifiNetwork> ssidIndex = new HashMap<>(n * 2);
+        Map<String, WifiNetwork> bssidIndex = new HashMap<>(n * 4);
+
+        for (int i = 0; i < n; i++) {
+            WifiNetwork net = sorted[i];
+            signals[i] = net.getSignalStrength();
+            bySecurity[net.getSecurity().ordinal()].set(i);
+            for (Band band : BANDS) {
+                if (net.hasBand(band)) byBand[band.ordinal()].set(i);
+            }
+            ssidIndex.putIfAbsent(net.getSsid(), net);
+            for (AccessPoint ap : net.getAccessPoints()) bssidIndex.putIfAbsent(ap.getBssid(), net);
+        }
+        this.bySsid = Collections.unmodifiableMap(ssidIndex);
+        this.byBssid = Collections.unmodifiableMap(bssidIndex);
+    }
+
+    public List<WifiNetwork> getNetworks() { return networks; }
+    public long getTimestamp() { return timestamp; }
+    public int size() { return networks.size(); }
+    public boolean isEmpty() { return networks.isEmpty(); }
+
+    // === Поиск по ключу: O(1) ===
+    public WifiNetwork findBySsid(String ssid) {
+        return ssid == null ? null : bySsid.get(ssid);
+    }
+
+    public WifiNetwork findByBssid(String bssid) {
+        return bssid == null ? null : byBssid.get(bssid);
+    }
+
+    // === Индексы (возвращаются копии — их можно менять) ===
+    public BitSet all() {
+        BitSet bits = new BitSet(size());
+        bits.set(0, size());
+        return bits;
+    }
+
+    public BitSet withSecurity(Security security) {
+        return (BitSet) bySecurity[security.ordinal()].clone();
+    }
+
+    public BitSet withBand(Band band) {
+        return (BitSet) byBand[band.ordinal()].clone();
+    }
+
+    // Сети отсортированы по сигналу, поэтому "сигнал не ниже" — это префикс [0, k)
+    public BitSet withSignalAtLeast(int minSignal) {
+        int lo = 0, hi = signals.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (signals[mid] >= minSignal) lo = mid + 1; else hi = mid;
+        }
+        BitSet bits = new BitSet(size());
+        bits.set(0, lo);
+        return bits;
+    }
+
+    // Сети выбранных позиций в порядке убывания сигнала: O(результат)
+    public List<WifiNetwork> select(BitSet bits) {
+        List<WifiNetwork> out = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0 && i < networks.size(); i = bits.nextSetBit(i + 1)) {
+            out.add(networks.get(i));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,198 @@
+package org.example;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// Табличный вид результатов скана. Строки не пересобираются на каждый скан: модель получает
+// ScanDiff и шлёт события только по затронутым строкам (вставка, изменение, удаление).
+// Пропавшие сети остаются в таблице STALE_MS с временем, когда их видели последний раз.
+// Поля строки хранятся примитивами, подписи готовятся при изменении строки, а не при отрисовке;
+// сортировка — в ScanRowSorter, по номерам строк через compare()
+public class ScanTableModel extends AbstractTableModel {
+    public static final int SSID = 0;
+    public static final int BSSIDS = 1;
+    public static final int SIGNAL = 2;
+    public static final int BAND = 3;
+    public static final int CHANNEL = 4;
+    public static final int SECURITY = 5;
+    public static final int LAST_SEEN = 6;
+
+    private static final String[] COLUMN_KEYS = {
+            "columnSsid", "columnBssids", "columnSignal", "columnBand", "columnChannel", "columnSecurity", "columnLastSeen"
+    };
+    private static final long STALE_MS = 120_000;
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final class Row {
+        final String key;
+        WifiNetwork net;
+        int bssids;
+        int signal;
+        int bandMask;
+        int channel;
+        boolean present = true;
+        long lastSeen;
+        String bssidsText;
+        String signalText;
+        String channelText;
+        String lastSeenText;
+
+        Row(WifiNetwork net) {
+            this.key = net.getKey();
+            update(net);
+        }
+
+        void update(WifiNetwork net) {
+            this.net = net;
+            this.bssids = net.getBssidCount();
+            this.signal = net.getSignalStrength();
+            this.bandMask = net.getBandMask();
+            AccessPoint best = net.getBestAccessPoint();
+            this.channel = best == null ? 0 : best.getChannel();
+            this.bssidsText = Integer.toString(bssids);
+            this.signalText = signal + "%";
+            this.channelText = channel > 0 ? Integer.toString(channel) : "—";
+        }
+    }
+
+    private final String[] columnNames;
+    private final List<Row> rows = new ArrayList<>();
+    private final Map<String, Integer> indexByKey = new HashMap<>();
+    private long scanTime = 0;
+    private String scanTimeText = "";
+
+    public ScanTableModel(ResourceBundle bundle) {
+        columnNames = new String[COLUMN_KEYS.length];
+        for (int i = 0; i < COLUMN_KEYS.length; i++) {
+            columnNames[i] = bundle.containsKey(COLUMN_KEYS[i]) ? bundle.getString(COLUMN_KEYS[i]) : COLUMN_KEYS[i];
+        }
+    }
+
+    // === Обновление (EDT) ===
+    public void apply(ScanDiff diff, long now) {
+        long previous = scanTime > 0 ? scanTime : now;
+        scanTime = now;
+        scanTimeText = format(now);
+
+        for (WifiNetwork n : diff.getRemoved()) {
+            Integer i = indexByKey.get(n.getKey());
+            if (i == null) continue;
+            Row r = rows.get(i);
+            if (!r.present) continue;
+            r.present = false;
+            r.lastSeen = previous;
+            r.lastSeenText = format(previous);
+            fireTableRowsUpdated(i, i);
+        }
+
+        // Изменённые и вернувшиеся обновляются на месте, новые дописываются в конец одним событием
+        int firstAdded = rows.size();
+        for (List<WifiNetwork> part : List.of(diff.getChanged(), diff.getAdded())) {
+            for (WifiNetwork n : part) {
+                Integer i = indexByKey.get(n.getKey());
+                if (i == null) {
+                    indexByKey.put(n.getKey(), rows.size());
+                    rows.add(new Row(n));
+                    continue;
+                }
+                Row r = rows.get(i);
+                r.update(n);
+                r.present = true;
+                if (i < firstAdded) fireTableRowsUpdated(i, i);
+            }
+        }
+        if (rows.size() > firstAdded) fireTableRowsInserted(firstAdded, rows.size() - 1);
+
+        expire(now);
+        // Время последнего скана у всех видимых сетей — одно событие по одному столбцу
+        if (!rows.isEmpty()) fireTableChanged(new TableModelEvent(this, 0, rows.size() - 1, LAST_SEEN));
+    }
+
+    private void expire(long now) {
+        int lowest = -1;
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            Row r = rows.get(i);
+            if (r.present || now - r.lastSeen <= STALE_MS) continue;
+            rows.remove(i);
+            indexByKey.remove(r.key);
+            fireTableRowsDeleted(i, i);
+            lowest = i;
+        }
+        if (lowest < 0) return;
+        for (int i = lowest; i < rows.size(); i++) indexByKey.put(rows.get(i).key, i);
+    }
+
+    public void clear() {
+        int size = rows.size();
+        rows.clear();
+        indexByKey.clear();
+        if (size > 0) fireTableRowsDeleted(0, size - 1);
+    }
+
+    private static String format(long millis) {
+        return TIME_FMT.format(LocalTime.ofInstant(Instant.ofEpochMilli(millis), ZONE));
+    }
+
+    // === Доступ по номеру строки модели ===
+    public WifiNetwork getNetwork(int row) { return rows.get(row).net; }
+    public boolean isPresent(int row) { return rows.get(row).present; }
+
+    public int indexOf(String key) {
+        Integer i = indexByKey.get(key);
+        return i == null ? -1 : i;
+    }
+
+    private long lastSeenOf(Row r) { return r.present ? scanTime : r.lastSeen; }
+
+    // Сравнение двух строк модели по столбцу без упаковки значений; при равенстве — по ключу сети,
+    // чтобы полная сортировка и вставка по одной строке давали один и тот же порядок
+    public int compare(int column, int a, int b) {
+        Row x = rows.get(a), y = rows.get(b);
+        int c = switch (column) {
+            case SSID -> x.net.getSsid().compareToIgnoreCase(y.net.getSsid());
+            case BSSIDS -> Integer.compare(x.bssids, y.bssids);
+            case SIGNAL -> Integer.compare(x.signal, y.signal);
+            case BAND -> Integer.compare(x.bandMask, y.bandMask);
+            case CHANNEL -> Integer.compare(x.channel, y.channel);
+            case SECURITY -> x.net.getSecurity().compareTo(y.net.getSecurity());
+            case LAST_SEEN -> Long.compare(lastSeenOf(x), lastSeenOf(y));
+            default -> 0;
+        };
+        return c != 0 ? c : x.key.compareTo(y.key);
+    }
+
+    // === TableModel ===
+    @Override
+    public int getRowCount() { return rows.size(); }
+
+    @Override
+    public int getColumnCount() { return columnNames.length; }
+
+    @Override
+    public String getColumnName(int column) { return columnNames[column]; }
+
+    @Override
+    public Class<?> getColumnClass(int column) { return String.class; }
+
+    // Значения — заранее готовые строки: отрисовка ячейки ничего не форматирует
+    @Override
+    public Object getValueAt(int row, int column) {
+        Row r = rows.get(row);
+        return switch (column) {
+            case SSID -> r.net.getSsid();
+            case BSSIDS -> r.bssidsText;
+            case SIGNAL -> r.signalText;
+            case BAND -> Band.labelOf(r.bandMask);
+            case CHANNEL -> r.channelText;
+            case SECURITY -> r.net.getSecurity().getLabel();
+            case LAST_SEEN -> r.present ? scanTimeText : r.lastSeenText;
+            default -> null;
+        };
+    }
+}
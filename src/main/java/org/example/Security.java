@@ -0,0 +1,47 @@
+package org.example;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Тип защиты сети. Сырые строки nmcli/netsh/airport ("WPA1 WPA2", "WPA2-Personal",
+// "WPA2(PSK/AES/AES)") сводятся к одному экземпляру enum
+public enum Security {
+    OPEN("Open"),
+    WEP("WEP"),
+    WPA("WPA"),
+    WPA2("WPA2"),
+    WPA3("WPA3"),
+    ENTERPRISE("802.1X"),
+    UNKNOWN("Unknown");
+
+    private static final Map<String, Security> PARSED = new ConcurrentHashMap<>();
+
+    private final String label;
+
+    Security(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public boolean isOpen() { return this == OPEN; }
+
+    public static Security parse(String raw) {
+        if (raw == null) return UNKNOWN;
+        return PARSED.computeIfAbsent(raw, Security::classify);
+    }
+
+    private static Security classify(String raw) {
+        String s = raw.trim().toUpperCase();
+        if (s.isEmpty() || s.equals("--") || s.equals("OPEN") || s.startsWith("NONE")) return OPEN;
+        if (s.contains("802.1X") || s.contains("ENTERPRISE")) return ENTERPRISE;
+        if (s.contains("WPA3") || s.contains("SAE")) return WPA3;
+        if (s.contains("WPA2")) return WPA2;
+        if (s.contains("WPA")) return WPA;
+        if (s.contains("WEP")) return WEP;
+        return UNKNOWN;
+    }
+
+    @Override
+    public String toString() { return label; }
+}
@@ -0,0 +1,52 @@
+package org.example;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Уровень сигнала каждой точки доступа за последние CAPACITY сканов — для графика в деталях.
+// На точку одно кольцо на примитивах: память не растёт, запись не создаёт объектов.
+// Пишет сканер (поток скана), читает EDT при отрисовке; точки, которых не видно дольше
+// RETAIN_MS, забываются
+public class SignalHistory {
+    public static final int CAPACITY = 120;
+    private static final long RETAIN_MS = 10 * 60_000;
+
+    public static final class Ring {
+        private final byte[] samples = new byte[CAPACITY];
+        private long count = 0;
+        private volatile long lastTs = 0;
+
+        synchronized void add(int signal) {
+            samples[(int) (count % CAPACITY)] = (byte) Math.min(100, Math.max(0, signal));
+            count++;
+        }
+
+        // Номер последнего замера: по нему график понимает, что пора перерисоваться
+        public synchronized long version() { return count; }
+
+        // Копирует последние замеры от старых к новым в out и возвращает их число
+        public synchronized int copyTo(int[] out) {
+            int n = (int) Math.min(count, Math.min(CAPACITY, out.length));
+            long first = count - n;
+            for (int i = 0; i < n; i++) out[i] = samples[(int) ((first + i) % CAPACITY)];
+            return n;
+        }
+    }
+
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    public void add(String bssid, int signal, long timestamp) {
+        Ring ring = rings.computeIfAbsent(bssid, k -> new Ring());
+        ring.add(signal);
+        ring.lastTs = timestamp;
+    }
+
+    // null, если точка ещё не встречалась
+    public Ring get(String bssid) {
+        return bssid == null ? null : rings.get(bssid);
+    }
+
+    public void prune(long now) {
+        rings.values().removeIf(r -> now - r.lastTs > RETAIN_MS);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Мини-график сигнала выбранной точки. Перерисовка не чаще FPS раз в секунду и только
+// при новом замере; при отрисовке ничего не создаётся: замеры копируются в заранее
+// выделенные массивы и рисуются одним drawPolyline
+public class SignalSparkline extends JComponent {
+    private static final int FPS = 10;
+    private static final Color LINE = new Color(0, 122, 255);
+    private static final Color GRID = new Color(70, 70, 70);
+    private static final Stroke STROKE = new BasicStroke(1.5f);
+
+    private final SignalHistory history;
+    private final Timer timer;
+    private final int[] values = new int[SignalHistory.CAPACITY];
+    private final int[] xs = new int[SignalHistory.CAPACITY];
+    private final int[] ys = new int[SignalHistory.CAPACITY];
+
+    private String bssid;
+    private SignalHistory.Ring ring;
+    private long paintedVersion = -1;
+
+    public SignalSparkline(SignalHistory history) {
+        this.history = history;
+        this.timer = new Timer(1000 / FPS, e -> tick());
+        setPreferredSize(new Dimension(200, 40));
+    }
+
+    public void setSource(String bssid) {
+        if (bssid != null && bssid.equals(this.bssid)) return;
+        this.bssid = bssid;
+        this.ring = history.get(bssid);
+        paintedVersion = -1;
+        repaint();
+    }
+
+    // Кадр: кольцо могло появиться после выбора сети или смениться — prune удаляет кольцо
+    // пропавшей точки, и при её возвращении создаётся новое; замер мог прийти после прошлой отрисовки
+    private void tick() {
+        SignalHistory.Ring current = history.get(bssid);
+        if (current != ring) {
+            ring = current;
+            paintedVersion = -1;
+            repaint();
+            return;
+        }
+        long version = ring == null ? -1 : ring.version();
+        if (version != paintedVersion) repaint();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        super.removeNotify();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int w = getWidth(), h = getHeight();
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setColor(GRID);
+        g2.drawLine(0, h / 2, w, h / 2);
+
+        SignalHistory.Ring r = ring;
+        if (r == null) {
+            paintedVersion = -1;
+            return;
+        }
+        paintedVersion = r.version();
+        int n = r.copyTo(values);
+        if (n < 2) return;
+
+        // Ось X — вся ёмкость кольца, новые замеры справа; ось Y — 0..100%
+        int plotH = h - 4;
+        float step = (float) (w - 1) / (SignalHistory.CAPACITY - 1);
+        int offset = SignalHistory.CAPACITY - n;
+        for (int i = 0; i < n; i++) {
+            xs[i] = Math.round((offset + i) * step);
+            ys[i] = 2 + plotH - values[i] * plotH / 100;
+        }
+
+        Stroke stroke = g2.getStroke();
+        Object aa = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setStroke(STROKE);
+        g2.setColor(LINE);
+        g2.drawPolyline(xs, ys, n);
+        g2.setStroke(stroke);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, aa);
+    }
+}
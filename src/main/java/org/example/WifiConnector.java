@@ -5,51 +5,59 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public class WifiConnector {
-    private final Consumer<String> logger;
+    private static final int COMMAND_TIMEOUT_SEC = 30;
+    private static final int QUERY_TIMEOUT_SEC = 10;
+    private static final long VERIFY_TIMEOUT_MS = 15000;
+    private static final int LATENCY_WINDOW = 32;
+    // -Dwifi.connect.verify=sleep возвращает прежнюю проверку после фиксированной паузы —
+    // чтобы на одной машине сравнить медиану задержки подключения до и после
+    private static final boolean FIXED_PAUSE_VERIFY = "sleep".equals(System.getProperty("wifi.connect.verify"));
+
+    private final ComponentLogger logger;
+    private final Platform platform;
+    private final CommandRunner runner = CommandRunner.shared();
+    private final ConnectionVerifier verifier;
+    private final ReachabilityProbe probe;
+    private volatile ReachabilityProbe.State reachability = ReachabilityProbe.State.OFFLINE;
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount = 0;
     private volatile boolean isConnecting = false;
     private SwingWorker<Boolean, String> currentWorker;
     private String currentSsid;
 
     public WifiConnector(Consumer<String> logger) {
-        this.logger = logger;
+        this(logger, Platform.detect());
+    }
+
+    public WifiConnector(Consumer<String> logger, Platform platform) {
+        this.logger = ComponentLogger.of(logger);
+        this.platform = platform;
+        this.verifier = new ConnectionVerifier(logger);
+        this.probe = new ReachabilityProbe(logger);
     }
 
     // === ПОДКЛЮЧЕНИЕ К СЕТИ ===
     public void connectToNetwork(String ssid, String password, Consumer<Boolean> callback) {
-        if (isConnecting) {
-            log("Подключение уже выполняется...");
-            callback.accept(false);
-            return;
+        synchronized (this) {
+            if (isConnecting) {
+                logger.warn("Подключение уже выполняется...");
+                callback.accept(false);
+                return;
+            }
+            this.currentSsid = ssid;
+            isConnecting = true;
         }
-
-        this.currentSsid = ssid;
-        isConnecting = true;
         log("Начинаю подключение к: " + ssid);
 
         currentWorker = new SwingWorker<>() {
             @Override
             protected Boolean doInBackground() {
-                try {
-                    if (isLinux()) {
-                        return connectLinux(ssid, password);
-                    } else if (isWindows()) {
-                        return connectWindows(ssid, password);
-                    } else if (isMac()) {
-                        return connectMac(ssid, password);
-                    } else {
-                        log("Неподдерживаемая ОС");
-                        return false;
-                    }
-                } catch (Exception e) {
-                    log("Критическая ошибка: " + e.getMessage());
-                    return false;
-                }
+                return connectBlocking(ssid, password);
             }
 
             @Override
@@ -72,27 +80,83 @@ public class WifiConnector {
         currentWorker.execute();
     }
 
+    // Синхронное подключение для фоновых служб (ConnectionSupervisor). Вызывать не из EDT
+    public boolean reconnect(String ssid, String password) {
+        synchronized (this) {
+            if (isConnecting) return false;
+            isConnecting = true;
+            currentSsid = ssid;
+        }
+        try {
+            log("Переподключение к: " + ssid);
+            return connectBlocking(ssid, password);
+        } finally {
+            isConnecting = false;
+        }
+    }
+
+    private boolean connectBlocking(String ssid, String password) {
+        try {
+            long start = System.nanoTime();
+            boolean connected;
+            if (platform.isLinux()) {
+                connected = connectLinux(ssid, password);
+            } else if (platform.isWindows()) {
+                connected = connectWindows(ssid, password);
+            } else if (platform.isMac()) {
+                connected = connectMac(ssid, password);
+            } else {
+                logger.error("Неподдерживаемая ОС");
+                return false;
+            }
+            if (connected) recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return connected;
+        } catch (Exception e) {
+            logger.error("Критическая ошибка: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // === РОУМИНГ ===
+    // Выбрать конкретную точку доступа умеет только NetworkManager; Windows и macOS роумят сами
+    public boolean canRoam() {
+        return platform.isLinux() && platform.hasNetworkManager();
+    }
+
+    public boolean roamTo(String ssid, String bssid) {
+        if (!canRoam() || isConnecting) return false;
+        return runCommand("nmcli", "connection", "up", "id", ssid, "ap", bssid);
+    }
+
+    // Текущее подключение или null, если связи нет
+    public ConnectionVerifier.Link currentLink() {
+        if (platform.isLinux()) return platform.hasNetworkManager() ? verifier.activeNetworkManager() : null;
+        if (platform.isWindows()) return verifier.activeNetsh();
+        if (platform.isMac()) return verifier.activeAirport();
+        return null;
+    }
+
     // === ОТКЛЮЧЕНИЕ ОТ СЕТИ ===
     public void disconnectFromNetwork(Consumer<Boolean> callback) {
-        new Thread(() -> {
+        runner.submit(() -> {
             boolean success = false;
             try {
-                if (isLinux()) {
+                if (platform.isLinux()) {
                     success = runCommand("nmcli", "device", "disconnect", "wlan0");
-                } else if (isWindows()) {
+                } else if (platform.isWindows()) {
                     success = runCommand("netsh", "wlan", "disconnect");
-                } else if (isMac()) {
+                } else if (platform.isMac()) {
                     runCommand("networksetup", "-setairportpower", "en0", "off");
                     Thread.sleep(1000);
                     runCommand("networksetup", "-setairportpower", "en0", "on");
                     success = true;
                 }
             } catch (Exception e) {
-                log("Ошибка отключения: " + e.getMessage());
+                logger.error("Ошибка отключения: " + e.getMessage());
             }
-            log(success ? "Отключено от сети" : "Не удалось отключиться");
+            if (success) logger.success("Отключено от сети"); else logger.error("Не удалось отключиться");
             callback.accept(success);
-        }).start();
+        });
     }
 
     // === ПРОВЕРКА ПОДКЛЮЧЕНИЯ (ДЛЯ BRUTEFORCE) ===
@@ -102,9 +166,9 @@ public class WifiConnector {
         }
 
         try {
-            if (isLinux()) {
+            if (platform.isLinux()) {
                 return testLinux(ssid, password);
-            } else if (isWindows()) {
+            } else if (platform.isWindows()) {
                 return testWindows(ssid, password);
             } else {
                 return demoPasswordCheck(password);
@@ -138,63 +202,118 @@ public class WifiConnector {
     private boolean connectTemporarily(String ssid, String password, int timeoutSec) {
         try {
             List<String> cmd = new ArrayList<>();
-            if (isLinux()) {
-                cmd.addAll(List.of("timeout", timeoutSec + "s", "nmcli", "device", "wifi", "connect", ssid));
+            if (platform.isLinux()) {
+                cmd.addAll(List.of("nmcli", "device", "wifi", "connect", ssid));
                 if (password != null) cmd.addAll(List.of("password", password));
-            } else if (isWindows()) {
+            } else if (platform.isWindows()) {
                 String xml = createProfileXml(ssid, password);
                 Path temp = createTempProfile(xml);
                 cmd.addAll(List.of("netsh", "wlan", "connect", "name=" + ssid));
-                new Timer().schedule(new TimerTask() {
-                    @Override public void run() {
-                        deleteTempProfile(temp);
-                    }
-                }, timeoutSec * 1000 + 2000);
+                CompletableFuture.runAsync(() -> deleteTempProfile(temp),
+                        CompletableFuture.delayedExecutor(timeoutSec * 1000L + 2000, TimeUnit.MILLISECONDS, runner.executor()));
             } else {
                 return false;
             }
 
-            return runCommand(cmd.toArray(new String[0]));
+            return runCommandWithTimeout(timeoutSec, cmd.toArray(new String[0]));
         } catch (Exception e) {
             return false;
         }
     }
 
     // === LINUX ===
+    // Сохранённый профиль поднимается напрямую, ключ в нём меняется только если он другой
     private boolean connectLinux(String ssid, String password) {
-        if (hasNetworkManager()) {
-            List<String> cmd = new ArrayList<>(List.of("nmcli", "device", "wifi", "connect", ssid));
-            if (password != null && !password.isEmpty()) {
-                cmd.addAll(List.of("password", password));
+        if (!platform.hasNetworkManager()) return false;
+
+        if (hasNmProfile(ssid)) {
+            // Тип защиты профиля (WPA2, SAE, 802.1X, WEP) не трогаем — меняется только поле с ключом
+            String field = nmSecretField(ssid);
+            boolean upToDate = isEmpty(password) || password.equals(savedNmSecret(ssid, field));
+            if (!upToDate) {
+                upToDate = field != null && runCommand("nmcli", "connection", "modify", "id", ssid, field, password);
             }
-            if (runCommand(cmd.toArray(new String[0]))) {
+            if (upToDate && runCommand("nmcli", "connection", "up", "id", ssid)) {
+                log("Подключено по сохранённому профилю: " + ssid);
                 return verifyConnection(ssid);
             }
+            logger.warn("Сохранённый профиль не подошёл, создаю заново: " + ssid);
+        }
+
+        List<String> cmd = new ArrayList<>(List.of("nmcli", "device", "wifi", "connect", ssid));
+        if (!isEmpty(password)) {
+            cmd.addAll(List.of("password", password));
+        }
+        return runCommand(cmd.toArray(new String[0])) && verifyConnection(ssid);
+    }
+
+    // Имя профиля, созданного nmcli device wifi connect, совпадает с SSID
+    private boolean hasNmProfile(String ssid) {
+        CommandResult result = runner.run(QUERY_TIMEOUT_SEC, "nmcli", "-t", "-f", "NAME,TYPE", "connection", "show");
+        for (String line : result.getOutput().split("\n")) {
+            if (line.equals(ssid.replace(":", "\\:") + ":802-11-wireless")) return true;
         }
         return false;
     }
 
+    // Поле секрета по key-mgmt профиля; null — открытый профиль или ключ не прочитать
+    private String nmSecretField(String ssid) {
+        CommandResult result = runner.run(QUERY_TIMEOUT_SEC,
+                "nmcli", "-g", "802-11-wireless-security.key-mgmt", "connection", "show", "id", ssid);
+        if (!result.isSuccess()) return null;
+        return switch (result.getOutput().trim()) {
+            case "wpa-psk", "sae" -> "802-11-wireless-security.psk";
+            case "wpa-eap", "wpa-eap-suite-b-192" -> "802-1x.password";
+            case "none", "ieee8021x" -> "802-11-wireless-security.wep-key0";
+            default -> null;
+        };
+    }
+
+    // Секреты не логируются: запрос идёт мимо построчного лога
+    private String savedNmSecret(String ssid, String field) {
+        if (field == null) return null;
+        CommandResult result = runner.run(QUERY_TIMEOUT_SEC, "nmcli", "-s", "-g", field, "connection", "show", "id", ssid);
+        return result.isSuccess() ? result.getOutput().trim() : null;
+    }
+
     // === WINDOWS ===
+    // netsh wlan add profile перезаписывает профиль с тем же именем, удалять его заранее не нужно
     private boolean connectWindows(String ssid, String password) {
-        deleteProfile(ssid);
-        String xml = password == null || password.isEmpty()
-                ? createOpenProfileXml(ssid)
-                : createProfileXml(ssid, password);
+        String saved = savedWindowsKey(ssid);
+        boolean known = saved != null;
+        boolean upToDate = known && (isEmpty(password) || password.equals(saved));
 
-        Path temp = createTempProfile(xml);
-        if (!runCommand("netsh", "wlan", "add", "profile", "filename=" + temp)) {
+        if (!upToDate) {
+            String xml = isEmpty(password)
+                    ? createOpenProfileXml(ssid)
+                    : createProfileXml(ssid, password);
+
+            Path temp = createTempProfile(xml);
+            boolean added = runCommand("netsh", "wlan", "add", "profile", "filename=" + temp);
             deleteTempProfile(temp);
-            return false;
+            if (!added) return false;
+        } else {
+            log("Подключаюсь по сохранённому профилю: " + ssid);
         }
 
-        boolean connected = runCommand("netsh", "wlan", "connect", "name=" + ssid);
-        deleteTempProfile(temp);
+        return runCommand("netsh", "wlan", "connect", "name=" + ssid) && verifyConnection(ssid);
+    }
 
-        if (connected) {
-            try { Thread.sleep(5000); } catch (InterruptedException ignored) {}
-            return verifyWindowsConnection(ssid);
+    // null — профиля нет; пустая строка — открытый профиль
+    private String savedWindowsKey(String ssid) {
+        CommandResult result = runner.run(QUERY_TIMEOUT_SEC, "netsh", "wlan", "show", "profile", "name=" + ssid, "key=clear");
+        if (!result.isSuccess()) return null;
+        for (String line : result.getOutput().split("\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equals("Key Content")) {
+                return line.substring(colon + 1).trim();
+            }
         }
-        return false;
+        return "";
+    }
+
+    private static boolean isEmpty(String s) {
+        return s == null || s.isEmpty();
     }
 
     // === MACOS ===
@@ -207,31 +326,64 @@ public class WifiConnector {
     }
 
     // === ПРОВЕРКА ПОДКЛЮЧЕНИЯ ===
+    // Ждём смены состояния интерфейса, а не фиксированную паузу
     private boolean verifyConnection(String ssid) {
-        try { Thread.sleep(3000); } catch (InterruptedException ignored) {}
-        return hasInternet() && isConnectedTo(ssid);
+        if (FIXED_PAUSE_VERIFY) return verifyAfterPause(ssid);
+        ConnectionVerifier.Outcome outcome;
+        if (platform.isLinux()) {
+            outcome = verifier.awaitNetworkManager(ssid, VERIFY_TIMEOUT_MS);
+        } else if (platform.isWindows()) {
+            outcome = verifier.awaitNetsh(ssid, VERIFY_TIMEOUT_MS);
+        } else {
+            outcome = verifier.awaitAirport(ssid, VERIFY_TIMEOUT_MS);
+        }
+
+        switch (outcome) {
+            case AUTH_FAILED -> logger.error("Точка отклонила аутентификацию: " + ssid);
+            case TIMEOUT -> logger.warn("Не дождались подключения к " + ssid);
+            case CONNECTED -> { return hasInternet(); }
+        }
+        return false;
     }
 
-    private boolean isConnectedTo(String ssid) {
-        if (isLinux()) {
-            String output = runCommandWithOutput("nmcli", "-t", "-f", "NAME", "con", "show", "--active");
-            return output != null && output.contains(ssid);
-        } else if (isWindows()) {
-            return verifyWindowsConnection(ssid);
+    // Прежняя схема: 5 с на Windows, 3 с на остальных системах, затем одна проверка
+    private boolean verifyAfterPause(String ssid) {
+        try {
+            Thread.sleep(platform.isWindows() ? 5000 : 3000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
-        return true;
+        ConnectionVerifier.Link link = currentLink();
+        return link != null && link.ssid().equals(ssid) && hasInternet();
     }
 
-    private boolean verifyWindowsConnection(String ssid) {
-        String output = runCommandWithOutput("netsh", "wlan", "show", "interfaces");
-        return output != null
-                && output.contains("SSID")
-                && output.contains(ssid)
-                && output.contains("connected");
+    // Медиана по последним успешным подключениям — для сравнения задержки между версиями
+    private synchronized void recordLatency(long millis) {
+        latencies[latencyCount % LATENCY_WINDOW] = millis;
+        latencyCount++;
+        logger.success("Подключено за " + millis + " мс (медиана " + getLatencyMedian() + " мс из "
+                + Math.min(latencyCount, LATENCY_WINDOW) + ", проверка: " + getVerifyMode() + ")");
     }
 
+    // -1, пока не было ни одного успешного подключения
+    public synchronized long getLatencyMedian() {
+        if (latencyCount == 0) return -1;
+        long[] window = Arrays.copyOf(latencies, Math.min(latencyCount, LATENCY_WINDOW));
+        Arrays.sort(window);
+        return window[window.length / 2];
+    }
+
+    public String getVerifyMode() { return FIXED_PAUSE_VERIFY ? "sleep" : "events"; }
+
+    // Captive portal — подключение состоялось, но до входа на портал интернета нет
     private boolean hasInternet() {
-        return runCommand("ping", "-c", "1", "8.8.8.8") || runCommand("ping", "-n", "1", "8.8.8.8");
+        reachability = probe.probe();
+        if (reachability == ReachabilityProbe.State.CAPTIVE_PORTAL) {
+            logger.warn("Сеть требует входа через браузер (captive portal)");
+        }
+        return reachability == ReachabilityProbe.State.ONLINE
+                || reachability == ReachabilityProbe.State.CAPTIVE_PORTAL;
     }
 
     // === XML ПРОФИЛИ ===
@@ -285,7 +437,7 @@ public class WifiConnector {
             temp.toFile().deleteOnExit();
             return temp;
         } catch (IOException e) {
-            log("Ошибка создания профиля: " + e.getMessage());
+            logger.error("Ошибка создания профиля: " + e.getMessage());
             return null;
         }
     }
@@ -296,69 +448,41 @@ public class WifiConnector {
         }
     }
 
-    private void deleteProfile(String ssid) {
-        runCommand("netsh", "wlan", "delete", "profile", ssid);
-    }
-
-    private boolean hasNetworkManager() {
-        return runCommand("which", "nmcli") || runCommand("command", "-v", "nmcli");
-    }
-
     // === ВЫПОЛНЕНИЕ КОМАНД ===
     private boolean runCommand(String... cmd) {
-        return runCommandWithTimeout(30, cmd);
+        return runCommandWithTimeout(COMMAND_TIMEOUT_SEC, cmd);
     }
 
+    // Вывод логируется построчно по мере чтения, так что по таймауту в логе остаётся всё, что команда успела сказать
     private boolean runCommandWithTimeout(int timeoutSec, String... cmd) {
-        try {
-            ProcessBuilder pb = new ProcessBuilder(cmd);
-            pb.redirectErrorStream(true);
-            Process p = pb.start();
-
-            String output = readOutput(p);
-            boolean finished = p.waitFor(timeoutSec, TimeUnit.SECONDS);
-
-            if (!finished) {
-                p.destroyForcibly();
-                return false;
-            }
-
-            int code = p.exitValue();
-            log("CMD: " + maskPassword(Arrays.toString(cmd)) + " → " + code);
-            return code == 0;
-        } catch (Exception e) {
-            log("Ошибка команды: " + e.getMessage());
-            return false;
-        }
+        CommandResult result = runner.run(timeoutSec, this::log, cmd);
+        log("CMD: " + maskSecrets(cmd) + " → " + result);
+        return result.isSuccess();
     }
 
+    // Запросы состояния: короткий срок, по таймауту возвращается частичный вывод
     private String runCommandWithOutput(String... cmd) {
-        try {
-            ProcessBuilder pb = new ProcessBuilder(cmd);
-            pb.redirectErrorStream(true);
-            Process p = pb.start();
-            String output = readOutput(p);
-            p.waitFor();
-            return output;
-        } catch (Exception e) {
-            return null;
+        CommandResult result = runner.run(QUERY_TIMEOUT_SEC, cmd);
+        if (result.isTimedOut()) {
+            logger.warn("CMD: " + maskSecrets(cmd) + " → timeout");
+            return result.getOutput();
         }
+        return result.getExitCode() < 0 ? null : result.getOutput();
     }
 
-    private String readOutput(Process p) throws IOException {
-        StringBuilder out = new StringBuilder();
-        try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
-            String line;
-            while ((line = r.readLine()) != null) {
-                out.append(line).append("\n");
-                log(line);
-            }
+    // Аргументы-ключи, за которыми идёт секрет: nmcli ... password <ключ>, modify ... <поле> <ключ>
+    private static final Set<String> SECRET_ARGS = Set.of(
+            "password", "wifi-sec.psk", "802-11-wireless-security.psk",
+            "802-1x.password", "802-11-wireless-security.wep-key0");
+
+    // Секрет заменяется по позиции аргумента, до склейки в строку. Проход с конца: SSID,
+    // совпавший с именем поля ("password"), может скрыть лишний аргумент, но не открыть ключ
+    static String maskSecrets(String... cmd) {
+        String[] masked = cmd.clone();
+        for (int i = cmd.length - 2; i >= 0; i--) {
+            if (SECRET_ARGS.contains(cmd[i])) masked[i + 1] = "*****";
         }
-        return out.toString();
-    }
-
-    private String maskPassword(String cmd) {
-        return cmd.replaceAll("(?i)password[=\\s][^\\s]+", "password=*****");
+        return Arrays.toString(masked);
     }
 
     private boolean demoPasswordCheck(String password) {
@@ -377,10 +501,7 @@ public class WifiConnector {
     }
 
     public String getCurrentSsid() { return currentSsid; }
+    public ReachabilityProbe.State getReachability() { return reachability; }
 
-    private boolean isLinux() { return System.getProperty("os.name").toLowerCase().contains("linux"); }
-    private boolean isWindows() { return System.getProperty("os.name").toLowerCase().contains("windows"); }
-    private boolean isMac() { return System.getProperty("os.name").toLowerCase().contains("mac"); }
-
-    private void log(String msg) { if (logger != null) logger.accept(msg); }
+    private void log(String msg) { logger.info(msg); }
 }
\ No newline at end of file
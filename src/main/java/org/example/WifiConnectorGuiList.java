@@ -13,35 +13,43 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.*;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.function.Predicate;
 import java.util.prefs.Preferences;
 
 public class WifiConnectorGuiList extends JFrame {
     private static final ResourceBundle BUNDLE = ResourceBundle.getBundle("messages");
     private static final Preferences PREFS = Preferences.userNodeForPackage(WifiConnectorGuiList.class);
-    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final int LOG_CAPACITY = 1 << 17;
+    private static final LogLevel[] LOG_FILTER_LEVELS = {null, LogLevel.ERROR, LogLevel.SUCCESS, LogLevel.WARNING};
 
     // === UI COMPONENTS ===
     private DefaultListModel<WifiNetwork> listModel = new DefaultListModel<>();
     private JList<WifiNetwork> networkList = new JList<>(listModel);
+    private final ScanTableModel scanTableModel = new ScanTableModel(BUNDLE);
+    private final ScanRowSorter scanSorter = new ScanRowSorter(scanTableModel, ScanTableModel.SIGNAL, SortOrder.DESCENDING);
+    private JTable networkTable = new JTable(scanTableModel);
+    private JToggleButton tableViewBtn = new JToggleButton(BUNDLE.getString("tableView"));
+    private JPanel networkViews = new JPanel(new CardLayout());
+    private final ChannelAnalyzer channelAnalyzer = new ChannelAnalyzer();
+    private final ChannelGraphPanel channelGraph = new ChannelGraphPanel(channelAnalyzer, BUNDLE.getString("recommendedChannel"));
+    private JComboBox<Band> channelBandCombo = new JComboBox<>(Band.values());
     private JPasswordField passwordField = new JPasswordField(20);
-    private JTextArea logArea = new JTextArea(12, 50);
+    private final LogBuffer logBuffer = new LogBuffer(LOG_CAPACITY);
+    private final LogListModel logModel = new LogListModel(logBuffer);
+    private final ComponentLogger uiLogger = logBuffer.logger("ui");
+    private JList<LogBuffer.Entry> logList = new JList<>(logModel);
+    private JTextField logSearchField = new JTextField(14);
+    private SwingWorker<Long, Void> exportWorker;
     private ModernProgressBar progressBar = new ModernProgressBar();
     private JLabel statusLabel = new JLabel(BUNDLE.getString("ready"));
     private JLabel connectionStatusLabel = new JLabel(BUNDLE.getString("notConnected"));
     private JLabel signalInfoLabel = new JLabel(BUNDLE.getString("selectNetwork"));
     private JLabel attemptsLabel = new JLabel("");
-    private JComboBox<String> filterCombo = new JComboBox<>(new String[]{
-            BUNDLE.getString("allNetworks"),
-            BUNDLE.getString("strongSignals"),
-            BUNDLE.getString("openNetworks"),
-            BUNDLE.getString("securedNetworks")
-    });
+    private static final String[] FILTER_KEYS = {"allNetworks", "strongSignals", "openNetworks", "securedNetworks"};
+    private JComboBox<String> filterCombo = new JComboBox<>(Arrays.stream(FILTER_KEYS)
+            .map(BUNDLE::getString).toArray(String[]::new));
     private JComboBox<String> logFilterCombo = new JComboBox<>(new String[]{
             BUNDLE.getString("allLogs"), BUNDLE.getString("errorsOnly"),
             BUNDLE.getString("successOnly"), BUNDLE.getString("warningsOnly")
@@ -61,13 +69,19 @@ public class WifiConnectorGuiList extends JFrame {
     private WifiScanner scanner;
     private WifiConnector connector;
     private PasswordBruteForcer bruteForcer;
+    private ConnectionSupervisor supervisor;
+    private ScanHistoryStore history;
+    private SignalSparkline sparkline;
+    private String connectedSsid;
 
     // === STATE ===
     private boolean darkTheme = true;
-    private Timer autoRefresh;
+    private ScanScheduler scanScheduler;
     private int scanInterval = 30;
     private boolean autoRefreshEnabled = true;
     private List<WifiNetwork> lastScan = new ArrayList<>();
+    private ScanSnapshot appliedSnapshot;
+    private String currentFilter = "allNetworks";
 
     public WifiConnectorGuiList() {
         super(BUNDLE.getString("appTitle"));
@@ -80,14 +94,25 @@ public class WifiConnectorGuiList extends JFrame {
         setSize(1200, 900);
         setLocationRelativeTo(null);
         setVisible(true);
-        restartAutoRefreshTimer(); // вместо startAutoRefresh()
+        restartAutoRefreshTimer();
         scanNetworks();
     }
 
     private void initComponents() {
-        scanner = new WifiScanner(this::log);
-        connector = new WifiConnector(this::log);
-        bruteForcer = new PasswordBruteForcer(connector, this::log);
+        Platform platform = Platform.detect();
+        scanner = new WifiScanner(logBuffer.logger("scanner"), platform);
+        connector = new WifiConnector(logBuffer.logger("connector"), platform);
+        bruteForcer = new PasswordBruteForcer(connector, logBuffer.logger("bruteforce"));
+        supervisor = new ConnectionSupervisor(connector, scanner, logBuffer.logger("supervisor"));
+        history = new ScanHistoryStore(ScanHistoryStore.defaultFile(), logBuffer.logger("history"));
+        history.start();
+        sparkline = new SignalSparkline(scanner.getSignalHistory());
+        scanScheduler = new ScanScheduler(this::scanNetworks,
+                () -> isVisible() && (getExtendedState() & ICONIFIED) == 0,
+                // При работающем мониторе изменения приходят сами; идущий скан не дублируем
+                () -> scanner.isMonitoring() || scanner.isScanning(),
+                this::connectedSignal);
+        supervisor.setStatusListener(ssid -> SwingUtilities.invokeLater(() -> updateConnectionStatus(ssid, ssid != null)));
     }
 
     private void setupUI() {
@@ -142,17 +167,31 @@ public class WifiConnectorGuiList extends JFrame {
         JPanel p = new ModernCardPanel();
         p.setLayout(new MigLayout("fill, insets 20", "[grow]", "[]8[grow]8[]"));
 
-        p.add(new ModernSectionLabel("availableNetworks"), "wrap");
+        p.add(new ModernSectionLabel("availableNetworks"), "split 2, growx");
+        p.add(tableViewBtn, "wrap");
         networkList.setCellRenderer(new NetworkRenderer());
-        networkList.setFixedCellHeight(68);
-        JScrollPane scroll = new ModernScrollPane(networkList);
-        p.add(scroll, "grow, wrap");
+        networkList.setFixedCellHeight(NetworkRenderer.CELL_HEIGHT);
+        networkList.setFixedCellWidth(1);
+
+        networkTable.setRowSorter(scanSorter);
+        networkTable.setRowHeight(28);
+        networkTable.setFillsViewportHeight(true);
+        networkTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        networkTable.setDefaultRenderer(String.class, new ScanCellRenderer());
+        networkTable.getColumnModel().getColumn(ScanTableModel.SSID).setPreferredWidth(160);
+
+        networkViews.setOpaque(false);
+        networkViews.add(new ModernScrollPane(networkList), "list");
+        networkViews.add(new ModernScrollPane(networkTable), "table");
+        p.add(networkViews, "grow, wrap");
+        showNetworkView(tableViewBtn.isSelected());
 
         signalInfoLabel.setForeground(darkTheme ? new Color(173, 181, 189) : new Color(100, 100, 100));
-        JPanel info = new JPanel(new MigLayout("insets 10"));
+        JPanel info = new JPanel(new MigLayout("insets 10", "[grow]", "[]4[]"));
         info.setBackground(darkTheme ? new Color(33, 37, 43) : new Color(230, 230, 230));
         info.setBorder(BorderFactory.createLineBorder(darkTheme ? new Color(52, 58, 70) : new Color(200, 200, 200)));
-        info.add(signalInfoLabel);
+        info.add(signalInfoLabel, "wrap");
+        info.add(sparkline, "growx, h 40!");
         p.add(info, "grow");
 
         return p;
@@ -164,7 +203,7 @@ public class WifiConnectorGuiList extends JFrame {
 
         p.add(new ModernSectionLabel("connectionManagement"), "wrap");
 
-        JPanel content = new JPanel(new MigLayout("fill", "[grow]", "[]10[]10[]20[grow]"));
+        JPanel content = new JPanel(new MigLayout("fill", "[grow]", "[]10[]10[]20[]20[grow]"));
         content.setOpaque(false);
 
         // Password
@@ -210,34 +249,65 @@ public class WifiConnectorGuiList extends JFrame {
         content.add(passPanel, "grow, wrap");
         content.add(opts, "grow, wrap");
         content.add(btns, "grow, wrap");
-        content.add(prog, "grow");
+        content.add(prog, "grow, wrap");
+        content.add(createChannelPanel(), "grow");
         p.add(content, "grow");
         return p;
     }
 
+    // Загрузка каналов выбранного диапазона и рекомендуемый канал
+    private JPanel createChannelPanel() {
+        JPanel p = new JPanel(new MigLayout("fill, insets 0", "[grow][]", "[]6[grow]"));
+        p.setOpaque(false);
+        p.add(new ModernFieldLabel("channelLoad"), "grow");
+        setupCombo(channelBandCombo);
+        channelBandCombo.addActionListener(e -> channelGraph.setBand((Band) channelBandCombo.getSelectedItem()));
+        p.add(channelBandCombo, "wrap");
+        p.add(channelGraph, "span, grow");
+        return p;
+    }
+
     private JPanel createLogPanel() {
         JPanel p = new ModernCardPanel();
         p.setLayout(new MigLayout("fill, insets 20", "[grow]", "[]8[grow]8[]"));
 
         // === Заголовок с фильтром ===
-        JPanel header = new JPanel(new MigLayout("fill", "[grow][]"));
+        JPanel header = new JPanel(new MigLayout("fill", "[grow][][][]"));
         header.setOpaque(false);
         header.add(new ModernSectionLabel("eventLog"), "grow");
+        logSearchField.putClientProperty("JTextField.placeholderText", "Поиск...");
+        logSearchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { filterLogs(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { filterLogs(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { filterLogs(); }
+        });
+        header.add(logSearchField);
         header.add(new JLabel(BUNDLE.getString("logFilter") + ":"));
         setupCombo(logFilterCombo);
-        logFilterCombo.addActionListener(e -> filterLogs()); // ← Добавлено!
         header.add(logFilterCombo);
 
         p.add(header, "wrap");
 
         // === Область логов ===
-        logArea.setEditable(false);
-        logArea.setFont(new Font("JetBrains Mono", Font.PLAIN, 12));
-        logArea.setBackground(darkTheme ? new Color(13, 17, 23) : Color.WHITE);
-        logArea.setForeground(darkTheme ? new Color(248, 249, 250) : Color.BLACK);
-        JScrollPane scroll = new ModernScrollPane(logArea);
+        // Фиксированные размеры ячейки: JList не измеряет строки и рисует только видимые
+        logList.setFont(new Font("JetBrains Mono", Font.PLAIN, 12));
+        logList.setBackground(darkTheme ? new Color(13, 17, 23) : Color.WHITE);
+        logList.setForeground(darkTheme ? new Color(248, 249, 250) : Color.BLACK);
+        logList.setFixedCellHeight(logList.getFontMetrics(logList.getFont()).getHeight() + 2);
+        logList.setFixedCellWidth(1);
+        logList.setVisibleRowCount(12);
+        logList.setCellRenderer(new LogRenderer());
+        JScrollPane scroll = new ModernScrollPane(logList);
         p.add(scroll, "grow, wrap");
 
+        // Автопрокрутка, только если пользователь стоит в конце журнала
+        JScrollBar bar = scroll.getVerticalScrollBar();
+        logModel.setAfterFlush(() -> {
+            boolean atBottom = bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - 2 * logList.getFixedCellHeight();
+            if (atBottom) SwingUtilities.invokeLater(() -> logList.ensureIndexIsVisible(logModel.getSize() - 1));
+        });
+        logModel.start();
+
         // === Кнопки: Экспорт + Очистка ===
         JPanel controls = new JPanel(new MigLayout("right"));
         controls.setOpaque(false);
@@ -259,7 +329,7 @@ public class WifiConnectorGuiList extends JFrame {
     }
 
     private void clearLog() {
-        logArea.setText("");
+        logModel.clear();
         log("logCleared");
     }
 
@@ -273,35 +343,109 @@ public class WifiConnectorGuiList extends JFrame {
         settingsBtn.addActionListener(e -> showSettings());
         filterCombo.addActionListener(e -> applyFilter());
         logFilterCombo.addActionListener(e -> filterLogs());
+        autoConnChk.addActionListener(e -> toggleAutoConnect());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowDeiconified(WindowEvent e) { scanScheduler.wake(); }
+        });
 
         networkList.addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) updateInfo();
         });
 
-        networkList.addMouseListener(new MouseAdapter() {
+        MouseAdapter focusPassword = new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2) passwordField.requestFocus();
             }
+        };
+        networkList.addMouseListener(focusPassword);
+
+        networkTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) updateInfo();
         });
+        networkTable.addMouseListener(focusPassword);
+        tableViewBtn.addActionListener(e -> showNetworkView(tableViewBtn.isSelected()));
+
+        scanner.addChangeListener(diff -> applyDiff(diff, false));
+        scanner.startMonitoring();
+        if (autoConnChk.isSelected()) supervisor.watchCurrent();
 
         setupShortcuts();
     }
 
+    // Пока идёт скан, новый запрос ничего не подписывает: результат применит тот, кто скан запустил.
+    // Колбэк scanChanges приходит на EDT — в том же порядке, что и дельты монитора
     private void scanNetworks() {
+        if (scanner.isScanning()) return;
         setBusy(true, "scanningNetworks");
-        scanner.scanNetworks(networks -> {
-            lastScan = networks;
-            SwingUtilities.invokeLater(() -> {
-                listModel.clear();
-                networks.forEach(listModel::addElement);
-                setBusy(false, networks.isEmpty() ? "noNetworks" : "foundNetworks " + networks.size());
-                if (!networks.isEmpty()) networkList.setSelectedIndex(0);
-            });
+        // Повторно доставленный снимок (отменённый скан, дважды EMPTY) модели не трогает,
+        // но скан всё равно завершён: занятость снимается, планировщик узнаёт о конце
+        scanner.scanChanges(diff -> {
+            applyDiff(diff, true);
+            setBusy(false, lastScan.isEmpty() ? "noNetworks" : "foundNetworks " + lastScan.size());
+            if (!listModel.isEmpty() && networkList.getSelectedIndex() < 0) networkList.setSelectedIndex(0);
+            scanScheduler.scanCompleted(diff);
         });
     }
 
+    // Модель списка меняется только на дельту скана: выделение и прокрутка не сбрасываются.
+    // Таблица получает и пустую дельту — у неё обновляется время последнего скана.
+    // В историю на диске полный скан пишется целиком, событие монитора — только новые
+    // и изменённые сети, иначе файл рос бы на каждое событие, а не на каждый скан.
+    // Каждый снимок применяется один раз: повторная доставка той же дельты ничего не меняет
+    private void applyDiff(ScanDiff diff, boolean fullScan) {
+        if (diff.getSnapshot() != null) {
+            if (diff.getSnapshot() == appliedSnapshot) return;
+            appliedSnapshot = diff.getSnapshot();
+        }
+        lastScan = diff.getCurrent();
+        long now = System.currentTimeMillis();
+        scanTableModel.apply(diff, now);
+        if (fullScan) {
+            history.record(diff.getCurrent(), now);
+        } else if (!diff.isEmpty()) {
+            List<WifiNetwork> updates = new ArrayList<>(diff.getAdded());
+            updates.addAll(diff.getChanged());
+            history.record(updates, now);
+        }
+        channelAnalyzer.apply(diff);
+        if (diff.isEmpty()) return;
+        Predicate<WifiNetwork> visible = scanner.filterPredicate(currentFilter);
+
+        Set<String> removed = new HashSet<>();
+        diff.getRemoved().forEach(n -> removed.add(n.getKey()));
+        Map<String, WifiNetwork> changed = new HashMap<>();
+        diff.getChanged().forEach(n -> changed.put(n.getKey(), n));
+
+        for (int i = listModel.size() - 1; i >= 0 && !(removed.isEmpty() && changed.isEmpty()); i--) {
+            String key = listModel.get(i).getKey();
+            if (removed.remove(key)) {
+                listModel.remove(i);
+                continue;
+            }
+            WifiNetwork updated = changed.remove(key);
+            if (updated != null) {
+                if (visible.test(updated)) listModel.set(i, updated);
+                else listModel.remove(i);
+            }
+        }
+
+        // Оставшиеся изменённые раньше не проходили фильтр — добавляем как новые
+        List<WifiNetwork> toInsert = new ArrayList<>(diff.getAdded());
+        toInsert.addAll(changed.values());
+        for (WifiNetwork n : toInsert) {
+            if (visible.test(n)) insertBySignal(n);
+        }
+    }
+
+    private void insertBySignal(WifiNetwork n) {
+        int i = 0;
+        while (i < listModel.size() && listModel.get(i).getSignalStrength() >= n.getSignalStrength()) i++;
+        listModel.add(i, n);
+    }
+
     private void connectSelected() {
-        WifiNetwork net = networkList.getSelectedValue();
+        WifiNetwork net = selectedNetwork();
         if (net == null) { toast("selectNetworkFirst", Color.RED); return; }
         String pass = new String(passwordField.getPassword());
         setBusy(true, "connectingTo " + net.getSsid());
@@ -309,11 +453,25 @@ public class WifiConnectorGuiList extends JFrame {
             SwingUtilities.invokeLater(() -> {
                 setBusy(false, success ? "connectedTo " + net.getSsid() : "connectionError");
                 if (success) updateConnectionStatus(net.getSsid(), true);
+                if (success && autoConnChk.isSelected()) supervisor.watch(net.getSsid(), pass.isEmpty() ? null : pass);
             });
         });
     }
 
+    // Надзор включается для текущей сети, пароль — из поля, иначе сохранённый профиль
+    private void toggleAutoConnect() {
+        if (!autoConnChk.isSelected()) {
+            supervisor.stop();
+        } else if (connectedSsid != null) {
+            String pass = new String(passwordField.getPassword());
+            supervisor.watch(connectedSsid, pass.isEmpty() ? null : pass);
+        } else {
+            supervisor.watchCurrent();
+        }
+    }
+
     private void disconnect() {
+        supervisor.stop();
         connector.disconnectFromNetwork(success -> {
             SwingUtilities.invokeLater(() -> {
                 setBusy(false, success ? "disconnected" : "disconnectError");
@@ -323,7 +481,7 @@ public class WifiConnectorGuiList extends JFrame {
     }
 
     private void toggleBruteForce() {
-        WifiNetwork net = networkList.getSelectedValue();
+        WifiNetwork net = selectedNetwork();
         if (net == null) { toast("selectNetworkFirst", Color.RED); return; }
 
         if (bruteForcer.isRunning()) {
@@ -339,7 +497,7 @@ public class WifiConnectorGuiList extends JFrame {
                 SwingUtilities.invokeLater(() -> {
                     if (password != null) {
                         passwordField.setText(password);
-                        log("passwordFound: " + (password.startsWith("WPS:") ? "WPS PIN" : password));
+                        uiLogger.success("passwordFound: " + (password.startsWith("WPS:") ? "WPS PIN" : password));
                         setBusy(false, "passwordFound");
                         if (autoConnChk.isSelected()) connectSelected();
                     } else {
@@ -353,54 +511,91 @@ public class WifiConnectorGuiList extends JFrame {
     }
 
     private void updateInfo() {
-        WifiNetwork net = networkList.getSelectedValue();
-        if (net == null) return;
-        scanner.getDetailedInfo(net.getSsid(), info -> {
-            SwingUtilities.invokeLater(() -> {
-                String signal = switch (info.getSignalStrength() / 20) {
-                    case 5 -> "excellentSignal";
-                    case 4 -> "goodSignal";
-                    case 3 -> "averageSignal";
-                    case 2 -> "weakSignal";
-                    default -> "veryWeakSignal";
-                };
-                String sec = info.getSecurity().equals("Open") ? "openNetwork" : "security" + info.getSecurity();
-                signalInfoLabel.setText(BUNDLE.getString(signal) +
-                        (info.is5G() ? " [5G]" : "") + " • " + BUNDLE.getString(sec));
-            });
-        });
+        WifiNetwork selected = selectedNetwork();
+        if (selected == null) return;
+        WifiNetwork info = scanner.getNetwork(selected.getSsid());
+        if (info == null) info = selected;
+
+        String signal = switch (info.getSignalStrength() / 20) {
+            case 5 -> "excellentSignal";
+            case 4 -> "goodSignal";
+            case 3 -> "averageSignal";
+            case 2 -> "weakSignal";
+            default -> "veryWeakSignal";
+        };
+        String secKey = info.getSecurity().isOpen() ? "openNetwork" : "security" + info.getSecurity().name();
+        String sec = BUNDLE.containsKey(secKey) ? BUNDLE.getString(secKey) : info.getSecurity().getLabel();
+        AccessPoint best = info.getBestAccessPoint();
+        String aps = best == null ? "" : " • " + info.getBssidCount() + " AP • ch " + best.getChannel()
+                + (best.getRadioType() != null ? " • " + best.getRadioType() : "");
+        signalInfoLabel.setText(BUNDLE.getString(signal) +
+                (info.is5G() ? " [5G]" : "") + " • " + sec + aps);
+        signalInfoLabel.setToolTipText(null);
+
+        sparkline.setSource(best == null ? null : best.getBssid());
+
+        // Расширенные поля подгружаются в фоне и показываются подсказкой, если выбор не сменился
+        if (best == null) return;
+        String bssid = best.getBssid();
+        scanner.getExtendedInfo(bssid, fields -> SwingUtilities.invokeLater(() -> {
+            WifiNetwork current = selectedNetwork();
+            if (fields.isEmpty() || current == null || !bssid.equals(current.getBssid())) return;
+            StringBuilder tip = new StringBuilder("<html>");
+            fields.forEach((k, v) -> tip.append("<b>").append(k).append("</b>: ").append(v.replace("<", "&lt;")).append("<br>"));
+            signalInfoLabel.setToolTipText(tip.append("</html>").toString());
+        }));
     }
 
     private void applyFilter() {
-        String filter = (String) filterCombo.getSelectedItem();
-        List<WifiNetwork> filtered = scanner.filterNetworks(
-                switch (filter) {
-                    case "strongSignals" -> "strongSignals";
-                    case "openNetworks" -> "openNetworks";
-                    case "securedNetworks" -> "securedNetworks";
-                    default -> "allNetworks";
-                }
-        );
+        // Пункты комбобокса локализованы, поэтому ключ берём по индексу
+        currentFilter = FILTER_KEYS[Math.max(0, filterCombo.getSelectedIndex())];
+        List<WifiNetwork> filtered = scanner.filterNetworks(currentFilter);
         listModel.clear();
         filtered.forEach(listModel::addElement);
+        scanSorter.setFilter(scanner.filterPredicate(currentFilter));
     }
 
-    // === УПРАВЛЕНИЕ ТАЙМЕРОМ ===
-    private void restartAutoRefreshTimer() {
-        if (autoRefresh != null) {
-            autoRefresh.cancel();
-            autoRefresh.purge();
-        }
-        autoRefresh = new Timer("AutoRefresh", true);
-        TimerTask task = new TimerTask() {
-            @Override
-            public void run() {
-                if (isVisible() && !progressBar.isVisible()) {
-                    SwingUtilities.invokeLater(WifiConnectorGuiList.this::scanNetworks);
+    // === ВИД СПИСКА СЕТЕЙ ===
+    private void showNetworkView(boolean table) {
+        WifiNetwork selected = selectedNetwork();
+        ((CardLayout) networkViews.getLayout()).show(networkViews, table ? "table" : "list");
+        if (selected != null) selectNetwork(selected.getKey(), table);
+    }
+
+    // Выбранная сеть в показанном виде: строке таблицы соответствует строка модели через сортировщик
+    private WifiNetwork selectedNetwork() {
+        if (!tableViewBtn.isSelected()) return networkList.getSelectedValue();
+        int row = networkTable.getSelectedRow();
+        return row < 0 ? null : scanTableModel.getNetwork(networkTable.convertRowIndexToModel(row));
+    }
+
+    // При переключении вида выделение переносится по ключу сети
+    private void selectNetwork(String key, boolean table) {
+        if (table) {
+            int model = scanTableModel.indexOf(key);
+            int row = model < 0 ? -1 : networkTable.convertRowIndexToView(model);
+            if (row < 0) return;
+            networkTable.setRowSelectionInterval(row, row);
+            networkTable.scrollRectToVisible(networkTable.getCellRect(row, 0, true));
+        } else {
+            for (int i = 0; i < listModel.size(); i++) {
+                if (listModel.get(i).getKey().equals(key)) {
+                    networkList.setSelectedIndex(i);
+                    networkList.ensureIndexIsVisible(i);
+                    return;
                 }
             }
-        };
-        autoRefresh.scheduleAtFixedRate(task, scanInterval * 1000L, scanInterval * 1000L);
+        }
+    }
+
+    // === УПРАВЛЕНИЕ ТАЙМЕРОМ ===
+    private void restartAutoRefreshTimer() {
+        scanScheduler.configure(scanInterval, autoRefreshEnabled);
+    }
+
+    private int connectedSignal() {
+        WifiNetwork net = connectedSsid != null ? scanner.getSnapshot().findBySsid(connectedSsid) : null;
+        return net != null ? net.getSignalStrength() : -1;
     }
 
     // === НАСТРОЙКИ ===
@@ -440,13 +635,15 @@ public class WifiConnectorGuiList extends JFrame {
         statusLabel.setText(busy ? BUNDLE.getString(msgKey) : BUNDLE.getString("ready"));
         boolean enabled = !busy;
         refreshBtn.setEnabled(enabled);
-        connectBtn.setEnabled(enabled && networkList.getSelectedValue() != null);
+        connectBtn.setEnabled(enabled && selectedNetwork() != null);
         disconnectBtn.setEnabled(enabled);
         networkList.setEnabled(enabled);
+        networkTable.setEnabled(enabled);
         passwordField.setEnabled(enabled);
     }
 
     private void updateConnectionStatus(String ssid, boolean connected) {
+        connectedSsid = connected ? ssid : null;
         connectionStatusLabel.setText(connected ? BUNDLE.getString("connectedTo") + " " + ssid : BUNDLE.getString("notConnected"));
         connectionStatusLabel.setForeground(connected ? new Color(52, 199, 89) : new Color(255, 59, 48));
     }
@@ -525,37 +722,68 @@ public class WifiConnectorGuiList extends JFrame {
         Timeline.builder(w)
                 .addPropertyToInterpolate("opacity", 0f, 1f)
                 .setDuration(300).play();
-        new Timer(2500, e -> {
+        new javax.swing.Timer(2500, e -> {
             Timeline.builder(w).addPropertyToInterpolate("opacity", 1f, 0f).setDuration(300).play();
-            new Timer(300, ee -> w.dispose()).start();
+            new javax.swing.Timer(300, ee -> w.dispose()).start();
         }).start();
     }
 
+    // Из любого потока: запись в кольцевой буфер, на экран попадает пачкой по таймеру модели
     private void log(String msg) {
-        SwingUtilities.invokeLater(() -> {
-            logArea.append("[" + LocalTime.now().format(TIME_FMT) + "] " + msg + "\n");
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        });
+        uiLogger.info(msg);
     }
 
+    // Выгрузка идёт в фоне прямо из LogBuffer с учётом текущего фильтра; *.jsonl и *.gz по имени файла
     private void exportLog() {
+        if (exportWorker != null && !exportWorker.isDone()) return;
         JFileChooser fc = new JFileChooser();
-        if (fc.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                java.nio.file.Files.writeString(fc.getSelectedFile().toPath(), logArea.getText());
-                toast("logExported", new Color(52, 199, 89));
-            } catch (Exception ex) {
-                toast("exportError", Color.RED);
+        if (fc.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        java.nio.file.Path target = fc.getSelectedFile().toPath();
+        long from = logModel.firstSeq();
+        Predicate<LogBuffer.Entry> filter = logModel.filter();
+        LogExporter exporter = new LogExporter(logBuffer);
+        exportWorker = new SwingWorker<>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return exporter.export(target, from, filter, this::setProgress);
             }
-        }
+
+            @Override
+            protected void done() {
+                progressBar.setVisible(false);
+                try {
+                    long lines = get();
+                    uiLogger.success("Журнал выгружен: " + target + " (" + lines + " строк)");
+                    toast("logExported", new Color(52, 199, 89));
+                } catch (Exception ex) {
+                    uiLogger.error("Ошибка выгрузки журнала: " + ex.getMessage());
+                    toast("exportError", Color.RED);
+                }
+            }
+        };
+        exportWorker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) progressBar.setValue((Integer) e.getNewValue());
+        });
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+        exportWorker.execute();
     }
 
-    private void filterLogs() { /* Реализуй по аналогии */ }
+    // Уровень из комбобокса, поиск — подстрока без учёта регистра
+    private void filterLogs() {
+        int index = logFilterCombo.getSelectedIndex();
+        LogLevel level = index > 0 && index < LOG_FILTER_LEVELS.length ? LOG_FILTER_LEVELS[index] : null;
+        logModel.setFilter(level, logSearchField.getText());
+    }
 
     private void loadPrefs() {
         darkTheme = PREFS.getBoolean("darkTheme", true);
         scanInterval = PREFS.getInt("scanInterval", 30);
         autoRefreshEnabled = PREFS.getBoolean("autoRefreshEnabled", true);
+        autoConnChk.setSelected(PREFS.getBoolean("autoConnect", false));
+        tableViewBtn.setSelected(PREFS.getBoolean("tableView", false));
     }
 
     @Override
@@ -563,9 +791,14 @@ public class WifiConnectorGuiList extends JFrame {
         PREFS.putBoolean("darkTheme", darkTheme);
         PREFS.putInt("scanInterval", scanInterval);
         PREFS.putBoolean("autoRefreshEnabled", autoRefreshEnabled);
-        if (autoRefresh != null) {
-            autoRefresh.cancel();
-        }
+        PREFS.putBoolean("autoConnect", autoConnChk.isSelected());
+        PREFS.putBoolean("tableView", tableViewBtn.isSelected());
+        supervisor.stop();
+        scanScheduler.stop();
+        scanner.stopMonitoring();
+        logModel.stop();
+        if (exportWorker != null) exportWorker.cancel(true);
+        history.close();
         super.dispose();
     }
 
@@ -662,42 +895,158 @@ public class WifiConnectorGuiList extends JFrame {
     }
 
     // === RENDERERS ===
-    static class NetworkRenderer extends JPanel implements ListCellRenderer<WifiNetwork> {
-        private JLabel ssid = new JLabel();
-        private JLabel info = new JLabel();
-        private JLabel signal = new JLabel();
+    // Цвет строки по уровню записи; текст строки кэширован в самой записи
+    static class LogRenderer extends DefaultListCellRenderer {
+        private static final Color ERROR = new Color(255, 59, 48);
+        private static final Color WARNING = new Color(255, 149, 0);
+        private static final Color SUCCESS = new Color(52, 199, 89);
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            if (!isSelected && value instanceof LogBuffer.Entry entry) {
+                switch (entry.getLevel()) {
+                    case ERROR -> setForeground(ERROR);
+                    case WARNING -> setForeground(WARNING);
+                    case SUCCESS -> setForeground(SUCCESS);
+                    default -> { }
+                }
+            }
+            return this;
+        }
+    }
+
+    // Рисует строку сам, без раскладки MigLayout и JLabel. Всё, что не зависит от сети, готовится
+    // один раз: шрифты, цвета, значки уровня сигнала и подписи «защита • диапазон» для всех сочетаний.
+    // На строку остаются фон, две строки текста и одна картинка — цена не зависит от размера списка
+    static class NetworkRenderer extends JComponent implements ListCellRenderer<WifiNetwork> {
+        static final int CELL_HEIGHT = 68;
+        private static final Font SSID_FONT = new Font("Segoe UI", Font.BOLD, 15);
+        private static final Font INFO_FONT = new Font("Segoe UI", Font.PLAIN, 12);
+        private static final Color SELECTED = new Color(0, 122, 255);
+        private static final Color ROW_EVEN = new Color(28, 28, 28);
+        private static final Color ROW_ODD = new Color(24, 24, 24);
+        private static final Color BORDER = new Color(60, 60, 60);
+        private static final Color INFO = new Color(173, 181, 189);
+        private static final Color BAR_OFF = new Color(70, 70, 70);
+        private static final Color BAR_OFF_SELECTED = new Color(255, 255, 255, 90);
+
+        private static final int LEVELS = 5;
+        private static final int ICON_SIZE = 24;
+        private static final int PAD_X = 20;
+        // [защита][маска диапазонов]
+        private static final String[][] INFO_TEXT = new String[Security.values().length][8];
+        // [выделена ли строка][уровень сигнала 0..4]
+        private static final BufferedImage[][] ICONS = new BufferedImage[2][LEVELS];
+
+        static {
+            for (Security s : Security.values()) {
+                String sec = s.isOpen() ? BUNDLE.getString("openNetwork") : s.getLabel();
+                for (int mask = 0; mask < 8; mask++) {
+                    INFO_TEXT[s.ordinal()][mask] = sec + " • " + Band.labelOf(mask);
+                }
+            }
+            for (int level = 0; level < LEVELS; level++) {
+                ICONS[0][level] = signalIcon(level, new Color(52, 199, 89), BAR_OFF);
+                ICONS[1][level] = signalIcon(level, Color.WHITE, BAR_OFF_SELECTED);
+            }
+        }
+
+        private WifiNetwork net;
+        private boolean selected;
+        private int index;
+        private int ssidBaseline = -1;
+        private int infoBaseline;
 
         public NetworkRenderer() {
-            setLayout(new MigLayout("fill, insets 10", "[grow]10[]", "[]"));
-            setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(new Color(60, 60, 60)),
-                    BorderFactory.createEmptyBorder(8, 12, 8, 12)
-            ));
-            ssid.setFont(new Font("Segoe UI", Font.BOLD, 15));
-            info.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-            info.setForeground(new Color(173, 181, 189));
-            signal.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 20));
-            add(ssid, "grow");
-            add(signal);
-            add(info, "wrap, span");
+            setOpaque(true);
+        }
+
+        // Четыре столбика: уровень 0 — ни одного активного, 4 — все
+        private static BufferedImage signalIcon(int level, Color on, Color off) {
+            BufferedImage img = new BufferedImage(ICON_SIZE, ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = img.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int bar = 4, gap = 2;
+            for (int i = 0; i < 4; i++) {
+                int h = 6 + i * 5;
+                g.setColor(i < level ? on : off);
+                g.fillRoundRect(i * (bar + gap) + 1, ICON_SIZE - h - 1, bar, h, 2, 2);
+            }
+            g.dispose();
+            return img;
         }
 
         @Override
         public Component getListCellRendererComponent(JList<? extends WifiNetwork> list, WifiNetwork net,
                                                       int index, boolean selected, boolean focus) {
-            ssid.setText(net.getSsid());
-            String sec = net.getSecurity().equals("Open") ? "openNetwork" : "secured";
-            info.setText(BUNDLE.getString(sec) + " • " + net.getFrequency());
-            signal.setText(switch (net.getSignalStrength() / 20) {
-                case 5 -> "fullSignal";
-                case 4 -> "goodSignal";
-                case 3 -> "averageSignal";
-                case 2 -> "weakSignal";
-                default -> "veryWeakSignal";
-            });
-            setBackground(selected ? new Color(0, 122, 255) : (index % 2 == 0 ? new Color(28, 28, 28) : new Color(24, 24, 24)));
-            ssid.setForeground(selected ? Color.WHITE : Color.WHITE);
-            info.setForeground(selected ? Color.WHITE : new Color(173, 181, 189));
+            this.net = net;
+            this.selected = selected;
+            this.index = index;
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            int w = getWidth(), h = getHeight();
+            g.setColor(selected ? SELECTED : (index % 2 == 0 ? ROW_EVEN : ROW_ODD));
+            g.fillRect(0, 0, w, h);
+            g.setColor(BORDER);
+            g.drawRect(0, 0, w - 1, h - 1);
+            if (net == null) return;
+
+            if (ssidBaseline < 0) {
+                FontMetrics ssidFm = getFontMetrics(SSID_FONT);
+                FontMetrics infoFm = getFontMetrics(INFO_FONT);
+                int block = ssidFm.getHeight() + 4 + infoFm.getHeight();
+                ssidBaseline = (CELL_HEIGHT - block) / 2 + ssidFm.getAscent();
+                infoBaseline = ssidBaseline + ssidFm.getDescent() + 4 + infoFm.getAscent();
+            }
+
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            int iconX = w - PAD_X - ICON_SIZE;
+            Shape clip = g2.getClip();
+            g2.clipRect(PAD_X, 0, Math.max(0, iconX - PAD_X - 10), h);
+            g2.setFont(SSID_FONT);
+            g2.setColor(Color.WHITE);
+            g2.drawString(net.getSsid(), PAD_X, ssidBaseline);
+            g2.setFont(INFO_FONT);
+            g2.setColor(selected ? Color.WHITE : INFO);
+            g2.drawString(INFO_TEXT[net.getSecurity().ordinal()][net.getBandMask() & 7], PAD_X, infoBaseline);
+            g2.setClip(clip);
+
+            int level = Math.min(LEVELS - 1, Math.max(0, net.getSignalStrength()) / 20);
+            g2.drawImage(ICONS[selected ? 1 : 0][level], iconX, (h - ICON_SIZE) / 2, null);
+        }
+
+        @Override
+        public Dimension getPreferredSize() { return new Dimension(1, CELL_HEIGHT); }
+
+        // Как у DefaultListCellRenderer: штамп не участвует в раскладке и не рассылает события
+        @Override public void invalidate() { }
+        @Override public void validate() { }
+        @Override public void revalidate() { }
+        @Override public void repaint(long tm, int x, int y, int width, int height) { }
+        @Override public void repaint(Rectangle r) { }
+        @Override public void repaint() { }
+        @Override protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) { }
+        @Override public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue) { }
+    }
+
+    // Ячейки таблицы сетей: числа по правому краю, пропавшие сети приглушены
+    static class ScanCellRenderer extends javax.swing.table.DefaultTableCellRenderer {
+        private static final Color STALE = new Color(120, 120, 120);
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean selected,
+                                                       boolean focus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, selected, focus, row, column);
+            int modelColumn = table.convertColumnIndexToModel(column);
+            setHorizontalAlignment(modelColumn == ScanTableModel.BSSIDS || modelColumn == ScanTableModel.SIGNAL
+                    || modelColumn == ScanTableModel.CHANNEL ? RIGHT : LEFT);
+            ScanTableModel model = (ScanTableModel) table.getModel();
+            if (!selected && !model.isPresent(table.convertRowIndexToModel(row))) setForeground(STALE);
             return this;
         }
     }
@@ -754,6 +1103,7 @@ public class WifiConnectorGuiList extends JFrame {
 
     // === MAIN ===
     public static void main(String[] args) {
+        Platform.detect(); // проверка утилит идёт в фоне, пока строится окно
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.put("Button.arc", 12);
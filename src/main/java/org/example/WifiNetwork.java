@@ -1,34 +1,63 @@
 package org.example;
 
-public class WifiNetwork {
+import java.util.*;
+
+// Неизменяемый снимок сети: безопасно читать из EDT, пока фоновый поток собирает следующий скан
+public final class WifiNetwork {
     private final String ssid;
-    private int signalStrength;
-    private String security;
-    private String frequency;
-    private String bssid;
-    private final boolean is5G;
+    private final AccessPoint[] accessPoints;
+    private final int signalStrength;
+    private final Security security;
+    private final int bandMask;
+    private final String bssid;
+
+    // Одно наблюдение точки доступа — так сеть отдают парсеры
+    public WifiNetwork(String ssid, int signalStrength, String security, int frequencyMhz, String bssid) {
+        this(ssid, signalStrength, security, frequencyMhz, bssid, null);
+    }
+
+    public WifiNetwork(String ssid, int signalStrength, String security, int frequencyMhz, String bssid, String radioType) {
+        this(ssid, List.of(new AccessPoint(bssid, frequencyMhz, Security.parse(security), radioType).withSample(signalStrength)));
+    }
 
-    public WifiNetwork(String ssid, int signalStrength, String security, String frequency, String bssid, boolean is5G) {
+    // Сеть из всех её точек доступа
+    public WifiNetwork(String ssid, List<AccessPoint> accessPoints) {
         this.ssid = ssid;
-        this.signalStrength = signalStrength;
-        this.security = security;
-        this.frequency = frequency;
-        this.bssid = bssid;
-        this.is5G = is5G;
+        this.accessPoints = accessPoints.toArray(new AccessPoint[0]);
+        Arrays.sort(this.accessPoints, (a, b) -> Integer.compare(b.getSmoothedSignal(), a.getSmoothedSignal()));
+
+        AccessPoint best = this.accessPoints.length > 0 ? this.accessPoints[0] : null;
+        this.signalStrength = best != null ? best.getSmoothedSignal() : 0;
+        this.security = best != null ? best.getSecurity() : Security.UNKNOWN;
+        this.bssid = best != null ? best.getBssid() : "N/A";
+
+        int mask = 0;
+        for (AccessPoint ap : this.accessPoints) mask |= ap.getBand().mask();
+        this.bandMask = mask;
     }
 
     public String getSsid() { return ssid; }
     public int getSignalStrength() { return signalStrength; }
-    public String getSecurity() { return security; }
-    public String getFrequency() { return frequency; }
+    public Security getSecurity() { return security; }
     public String getBssid() { return bssid; }
-    public boolean is5G() { return is5G; }
+    public boolean is5G() { return accessPoints.length > 0 && accessPoints[0].is5G(); }
+
+    // "2.4 GHz", "5 GHz" или "2.4/5 GHz" для двухдиапазонной сети
+    public String getFrequency() { return Band.labelOf(bandMask); }
+    public int getBandMask() { return bandMask; }
+    public boolean hasBand(Band band) { return (bandMask & band.mask()) != 0; }
 
-    public void setSignalStrength(int signalStrength) { this.signalStrength = signalStrength; }
-    public void setSecurity(String security) { this.security = security; }
+    public List<AccessPoint> getAccessPoints() { return List.of(accessPoints); }
+    public AccessPoint getBestAccessPoint() { return accessPoints.length > 0 ? accessPoints[0] : null; }
+    public int getBssidCount() { return accessPoints.length; }
+
+    // Ключ строки списка и дельты скана: одна строка на SSID
+    public String getKey() {
+        return ssid;
+    }
 
     @Override
     public String toString() {
-        return ssid + (is5G ? " [5G]" : "") + " - " + signalStrength + "% - " + security;
+        return ssid + (is5G() ? " [5G]" : "") + " - " + signalStrength + "% - " + security;
     }
-}
\ No newline at end of file
+}
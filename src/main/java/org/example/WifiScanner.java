@@ -1,31 +1,65 @@
 package org.example;
 
 import javax.swing.*;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class WifiScanner {
-    private final Consumer<String> logger;
+    private final ComponentLogger logger;
     private volatile boolean isScanning = false;
-    private SwingWorker<List<WifiNetwork>, String> currentWorker;
-    private List<WifiNetwork> lastScanResult = new ArrayList<>();
+    private SwingWorker<ScanSnapshot, String> currentWorker;
+    private volatile ScanSnapshot snapshot = ScanSnapshot.EMPTY;
+    private final List<Consumer<ScanDiff>> changeListeners = new CopyOnWriteArrayList<>();
+    // Все, кто ждёт текущий скан; трогается только из EDT
+    private List<BiConsumer<ScanSnapshot, ScanSnapshot>> waiting;
+    private NetworkManagerMonitor monitor;
+    private final Map<String, AccessPoint> accessPoints = new HashMap<>();
+    private final Map<String, String> ssids = new HashMap<>();
+    private final Map<String, CompletableFuture<Map<String, String>>> details = new ConcurrentHashMap<>();
+    private final SignalHistory signalHistory = new SignalHistory();
+
+    private final Platform platform;
+    private final ScanBackend backend;
+    private final ScanBackend fallback = new DemoScanBackend();
+    private boolean monitoringWanted = false;
 
     public WifiScanner(Consumer<String> logger) {
-        this.logger = logger;
+        this(logger, Platform.detect());
+    }
+
+    public WifiScanner(Consumer<String> logger, Platform platform) {
+        this(logger, platform, ScanBackend.forPlatform(platform));
+    }
+
+    public WifiScanner(Consumer<String> logger, Platform platform, ScanBackend backend) {
+        this.logger = ComponentLogger.of(logger);
+        this.platform = platform;
+        this.backend = backend;
     }
 
     // === Основной метод сканирования ===
     public void scanNetworks(Consumer<List<WifiNetwork>> callback) {
-        if (isScanning) {
-            log("Сканирование уже запущено...");
+        runScan((previous, result) -> callback.accept(result.getNetworks()));
+    }
+
+    // === Инкрементальный режим: только изменения относительно прошлого скана ===
+    public void scanChanges(Consumer<ScanDiff> callback) {
+        runScan((previous, result) -> callback.accept(ScanDiff.between(previous, result)));
+    }
+
+    // Запрос во время идущего скана не ставится в очередь, а получает его результат
+    private void runScan(BiConsumer<ScanSnapshot, ScanSnapshot> callback) {
+        if (isScanning && waiting != null) {
+            waiting.add(callback);
+            log("Сканирование уже запущено, ждём его результат");
             return;
         }
 
+        List<BiConsumer<ScanSnapshot, ScanSnapshot>> callbacks = new ArrayList<>();
+        callbacks.add(callback);
+        waiting = callbacks;
         isScanning = true;
         log("Запуск сканирования Wi-Fi сетей...");
 
@@ -33,56 +67,53 @@ public class WifiScanner {
             private long startTime;
 
             @Override
-            protected List<WifiNetwork> doInBackground() {
+            protected ScanSnapshot doInBackground() {
                 startTime = System.currentTimeMillis();
                 List<WifiNetwork> networks = new ArrayList<>();
 
+                // Журнал принимает записи из любого потока — прогресс пишется сразу, в порядке событий
                 try {
-                    if (isLinux()) {
-                        networks = scanWithNmcli();
-                    } else if (isWindows()) {
-                        networks = scanWithNetsh();
-                    } else if (isMac()) {
-                        networks = scanWithAirport();
-                    } else {
-                        networks = getDemoNetworks();
-                        publish("Используются демо-данные");
-                    }
+                    networks = backend.scan(logger);
+                    if (backend instanceof DemoScanBackend) logger.warn("Используются демо-данные");
+                } catch (InterruptedException ex) {
+                    return ScanSnapshot.EMPTY;
                 } catch (Exception ex) {
-                    publish("Ошибка сканирования: " + ex.getMessage());
-                    networks = getDemoNetworks();
+                    logger.error("Ошибка сканирования (" + backend.getName() + "): " + ex.getMessage());
+                    networks = demoNetworks();
                 }
 
-                // Сортировка: сначала сильные сигналы
-                networks.sort((a, b) -> Integer.compare(b.getSignalStrength(), a.getSignalStrength()));
-                return networks;
-            }
-
-            @Override
-            protected void process(java.util.List<String> chunks) {
-                chunks.forEach(logger::accept);
+                // Снимок сортирует сети и строит индексы здесь, в фоне, а не на EDT
+                return new ScanSnapshot(aggregate(networks), System.currentTimeMillis());
             }
 
             @Override
             protected void done() {
-                isScanning = false;
+                if (waiting == callbacks) {
+                    waiting = null;
+                    isScanning = false;
+                }
                 long duration = System.currentTimeMillis() - startTime;
+                ScanSnapshot previous = snapshot;
 
                 try {
-                    List<WifiNetwork> result = get();
-                    lastScanResult = result;
+                    ScanSnapshot result = get();
+                    snapshot = result;
 
                     if (result.isEmpty()) {
-                        log("Сети не найдены");
+                        logger.warn("Сети не найдены");
                     } else {
-                        log("Сканирование завершено за " + duration + " мс");
+                        logger.success("Сканирование завершено за " + duration + " мс");
                         log("Найдено сетей: " + result.size());
                     }
-                    callback.accept(result);
+                } catch (CancellationException ex) {
+                    // Отменённый скан оставляет прежний снимок
                 } catch (Exception ex) {
-                    log("Ошибка получения результата: " + ex.getMessage());
-                    callback.accept(getDemoNetworks());
+                    logger.error("Ошибка получения результата: " + ex.getMessage());
+                    snapshot = new ScanSnapshot(demoNetworks(), System.currentTimeMillis());
                 }
+
+                ScanSnapshot current = snapshot;
+                for (BiConsumer<ScanSnapshot, ScanSnapshot> c : callbacks) c.accept(previous, current);
             }
         };
 
@@ -97,167 +128,158 @@ public class WifiScanner {
         }
     }
 
+    // === Потоковый режим: NetworkManager сам присылает изменения точек доступа ===
+    // Запуск асинхронный: сначала дожидаемся проверки утилит, потом стартуем монитор в фоне
+    public synchronized void startMonitoring() {
+        if (!(backend instanceof NmcliScanBackend)) return;
+        monitoringWanted = true;
+        platform.whenReady(p -> {
+            if (!p.hasNetworkManager() || !p.hasTool("gdbus")) return;
+            synchronized (this) {
+                if (!monitoringWanted) return;
+                if (monitor == null) monitor = new NetworkManagerMonitor(this::pushResult, logger);
+                monitor.start();
+            }
+        });
+    }
+
+    public synchronized void stopMonitoring() {
+        monitoringWanted = false;
+        if (monitor != null) monitor.stop();
+    }
+
+    public boolean isMonitoring() {
+        return monitor != null && monitor.isRunning();
+    }
+
+    public void addChangeListener(Consumer<ScanDiff> listener) {
+        changeListeners.add(listener);
+    }
+
+    // Результат, полученный не через scanNetworks (монитор), публикуется как дельта на EDT
+    private void pushResult(List<WifiNetwork> observations) {
+        ScanSnapshot next = new ScanSnapshot(aggregate(observations), System.currentTimeMillis());
+        SwingUtilities.invokeLater(() -> {
+            ScanDiff diff = ScanDiff.between(snapshot, next);
+            snapshot = next;
+            if (!diff.isEmpty()) changeListeners.forEach(l -> l.accept(diff));
+        });
+    }
+
+    public ScanBackend getBackend() {
+        return backend;
+    }
+
     public boolean isScanning() {
         return isScanning;
     }
 
     public List<WifiNetwork> getLastScanResult() {
-        return Collections.unmodifiableList(lastScanResult);
+        return snapshot.getNetworks();
     }
 
-    // === Фильтрация ===
-    public List<WifiNetwork> filterNetworks(String filterType) {
-        return switch (filterType) {
-            case "allNetworks" -> lastScanResult;
-            case "strongSignals" -> lastScanResult.stream()
-                    .filter(n -> n.getSignalStrength() >= 60)
-                    .collect(Collectors.toList());
-            case "openNetworks" -> lastScanResult.stream()
-                    .filter(n -> n.getSecurity().equals("Open") || n.getSecurity().contains("None"))
-                    .collect(Collectors.toList());
-            case "securedNetworks" -> lastScanResult.stream()
-                    .filter(n -> !n.getSecurity().equals("Open") && !n.getSecurity().contains("None"))
-                    .collect(Collectors.toList());
-            default -> lastScanResult;
-        };
+    public ScanSnapshot getSnapshot() {
+        return snapshot;
     }
 
-    // === Детальная информация ===
-    public void getDetailedInfo(String ssid, Consumer<WifiNetwork> callback) {
-        new Thread(() -> {
-            WifiNetwork network = lastScanResult.stream()
-                    .filter(n -> n.getSsid().equals(ssid))
-                    .findFirst()
-                    .orElse(null);
-
-            if (network != null) {
-                callback.accept(network);
-            } else {
-                callback.accept(new WifiNetwork(ssid, 0, "Unknown", "N/A", "N/A", false));
-            }
-        }).start();
+    // Уровни сигнала точек за последние сканы, для графиков
+    public SignalHistory getSignalHistory() {
+        return signalHistory;
     }
 
-    // === ОС-специфичные сканеры ===
-    private List<WifiNetwork> scanWithNmcli() {
-        List<WifiNetwork> networks = new ArrayList<>();
-        try {
-            ProcessBuilder pb = new ProcessBuilder("nmcli", "-t", "-f", "SSID,SIGNAL,SECURITY,FREQ,BSSID", "dev", "wifi");
-            Process process = pb.start();
-
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                Set<String> seen = new HashSet<>();
-
-                while ((line = reader.readLine()) != null && !isCancelled()) {
-                    String[] parts = line.split(":", -1);
-                    if (parts.length < 1) continue;
+    // === Фильтрация ===
+    public List<WifiNetwork> filterNetworks(String filterType) {
+        return filterNetworks(NetworkFilter.byKey(filterType));
+    }
 
-                    String ssid = parts[0].trim();
-                    if (ssid.isEmpty() || ssid.equals("--") || seen.contains(ssid)) continue;
-                    seen.add(ssid);
+    // Выборка по индексам снимка, без прохода по всем сетям
+    public List<WifiNetwork> filterNetworks(NetworkFilter filter) {
+        return filter.apply(snapshot);
+    }
 
-                    int signal = parseSignal(parts.length > 1 ? parts[1] : "0");
-                    String security = parts.length > 2 ? parts[2].trim() : "Open";
-                    String freq = parts.length > 3 ? parts[3].trim() : "2.4 GHz";
-                    String bssid = parts.length > 4 ? parts[4].trim() : "N/A";
+    // Тот же фильтр в виде предиката — GUI применяет его к дельтам скана
+    public NetworkFilter filterPredicate(String filterType) {
+        return NetworkFilter.byKey(filterType);
+    }
 
-                    boolean is5G = freq.contains("5");
-                    networks.add(new WifiNetwork(ssid, signal, security, freq, bssid, is5G));
-                    currentWorker.publish("Обнаружена: " + ssid + " [" + signal + "%]");
-                }
-            }
-            process.waitFor(15, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            currentWorker.publish("nmcli ошибка: " + e.getMessage());
-        }
-        return networks;
+    // === Детальная информация ===
+    // Поиск по индексу снимка: O(1), без потоков — можно вызывать на каждое движение выделения
+    public WifiNetwork getNetwork(String ssid) {
+        return snapshot.findBySsid(ssid);
     }
 
-    private boolean isCancelled() {
-        return currentWorker != null && currentWorker.isCancelled();
+    public WifiNetwork getNetworkByBssid(String bssid) {
+        return snapshot.findByBssid(bssid);
     }
 
-    private List<WifiNetwork> scanWithNetsh() {
-        List<WifiNetwork> networks = new ArrayList<>();
-        try {
-            ProcessBuilder pb = new ProcessBuilder("netsh", "wlan", "show", "networks", "mode=bssid");
-            Process process = pb.start();
-
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                WifiNetwork current = null;
-                Pattern ssidPattern = Pattern.compile("SSID \\d+ : (.+)");
-
-                while ((line = reader.readLine()) != null && !isCancelled()) {
-                    line = line.trim();
-
-                    var ssidMatch = ssidPattern.matcher(line);
-                    if (ssidMatch.find()) {
-                        String ssid = ssidMatch.group(1);
-                        if (!networks.stream().anyMatch(n -> n.getSsid().equals(ssid))) {
-                            current = new WifiNetwork(ssid, 0, "Unknown", "2.4/5 GHz", "N/A", false);
-                            networks.add(current);
-                            publish("Сеть: " + ssid);
-                        }
-                    }
+    public void getDetailedInfo(String ssid, Consumer<WifiNetwork> callback) {
+        WifiNetwork network = getNetwork(ssid);
+        callback.accept(network != null ? network : new WifiNetwork(ssid, 0, "Unknown", 0, "N/A"));
+    }
 
-                    if (current != null) {
-                        if (line.startsWith("Signal")) {
-                            String signalStr = line.split(":")[1].trim().replace("%", "");
-                            current.setSignalStrength(parseSignal(signalStr));
-                        } else if (line.startsWith("Authentication")) {
-                            current.setSecurity(line.split(":")[1].trim());
-                        }
-                    }
-                }
+    // Расширенные поля (nmcli -f ALL) запрашиваются один раз на BSSID и живут, пока точка видна
+    public void getExtendedInfo(String bssid, Consumer<Map<String, String>> callback) {
+        details.computeIfAbsent(bssid, key -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return backend.details(key);
+            } catch (Exception e) {
+                logger.warn("Не удалось получить детали " + key + ": " + e.getMessage());
+                return Map.<String, String>of();
             }
-        } catch (Exception e) {
-            publish("netsh ошибка: " + e.getMessage());
-        }
-        return networks;
+        }, CommandRunner.shared().executor())).thenAccept(callback);
     }
 
-    private List<WifiNetwork> scanWithAirport() {
-        List<WifiNetwork> networks = new ArrayList<>();
-        publish("Сканирование на macOS: используем airport");
-        // Реализация упрощена
-        return networks;
-    }
+    // === Группировка наблюдений в сети ===
+    // Бэкенды отдают запись на каждую точку доступа. Реестр хранит последний снимок каждой точки,
+    // новое наблюдение даёт её следующий снимок с дописанной историей. SSID и BSSID берутся
+    // из прошлого скана, чтобы повторные сканы не плодили одинаковые строки
+    private synchronized List<WifiNetwork> aggregate(List<WifiNetwork> observations) {
+        Map<String, List<AccessPoint>> bySsid = new LinkedHashMap<>();
+        Map<String, AccessPoint> seen = new HashMap<>(observations.size() * 2);
+        long now = System.currentTimeMillis();
+
+        for (WifiNetwork obs : observations) {
+            AccessPoint observed = obs.getBestAccessPoint();
+            if (observed == null) continue;
+            String key = observed.getBssid().equals("N/A")
+                    ? obs.getSsid() + "@" + observed.getFrequencyMhz()
+                    : observed.getBssid();
+            if (seen.containsKey(key)) continue;
+
+            AccessPoint ap = accessPoints.get(key);
+            if (ap == null || ap.getFrequencyMhz() != observed.getFrequencyMhz()
+                    || ap.getSecurity() != observed.getSecurity()
+                    || !Objects.equals(ap.getRadioType(), observed.getRadioType())) {
+                String bssid = ap != null ? ap.getBssid() : observed.getBssid();
+                ap = new AccessPoint(bssid, observed.getFrequencyMhz(), observed.getSecurity(), observed.getRadioType());
+            }
+            ap = ap.withSample(observed.getSignal());
+            seen.put(key, ap);
+            signalHistory.add(ap.getBssid(), observed.getSignal(), now);
 
-    private List<WifiNetwork> getDemoNetworks() {
-        publish("Демо-режим: генерация тестовых сетей");
-        Random r = new Random();
-        String[] ssids = {
-                "Home_5G", "Office_WiFi", "Guest_Network", "Cafe_Free",
-                "TP-Link_1234", "Beeline_Home", "MTS_5G", "Rostelecom"
-        };
-        String[] securities = {"WPA2", "WPA3", "Open", "WEP"};
-
-        List<WifiNetwork> demo = new ArrayList<>();
-        for (int i = 0; i < 12; i++) {
-            String ssid = ssids[r.nextInt(ssids.length)] + (r.nextBoolean() ? "_5G" : "");
-            int signal = 30 + r.nextInt(70);
-            String security = securities[r.nextInt(securities.length)];
-            boolean is5G = ssid.contains("5G") || r.nextBoolean();
-            demo.add(new WifiNetwork(ssid, signal, security, is5G ? "5 GHz" : "2.4 GHz", "AA:BB:CC:DD:EE:FF", is5G));
+            String ssid = ssids.computeIfAbsent(obs.getSsid(), s -> s);
+            bySsid.computeIfAbsent(ssid, k -> new ArrayList<>()).add(ap);
         }
-        try { Thread.sleep(1500); } catch (InterruptedException ignored) {}
-        return demo;
+
+        // Пропавшие точки доступа забываются вместе с историей
+        accessPoints.clear();
+        accessPoints.putAll(seen);
+        details.keySet().retainAll(seen.keySet());
+        ssids.keySet().retainAll(bySsid.keySet());
+        signalHistory.prune(now);
+
+        List<WifiNetwork> networks = new ArrayList<>(bySsid.size());
+        bySsid.forEach((ssid, aps) -> networks.add(new WifiNetwork(ssid, aps)));
+        return networks;
     }
 
-    // === Вспомогательные методы ===
-    private int parseSignal(String signal) {
+    private List<WifiNetwork> demoNetworks() {
         try {
-            return Math.min(100, Math.max(0, Integer.parseInt(signal.replaceAll("\\D", ""))));
+            return aggregate(fallback.scan(this::log));
         } catch (Exception e) {
-            return 0;
+            return new ArrayList<>();
         }
     }
 
-    private boolean isLinux() { return System.getProperty("os.name").toLowerCase().contains("linux"); }
-    private boolean isWindows() { return System.getProperty("os.name").toLowerCase().contains("windows"); }
-    private boolean isMac() { return System.getProperty("os.name").toLowerCase().contains("mac"); }
-
-    private void log(String msg) { if (logger != null) logger.accept(msg); }
+    private void log(String msg) { logger.info(msg); }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Пропускная способность NmcliTerseParser на большом выводе
+// nmcli -t -f SSID,SIGNAL,SECURITY,FREQ,BSSID dev wifi list (nmcli-wifi-list.txt, 6000 точек:
+// экранированные ':' и '\', кириллица, скрытые сети "--"). Для сравнения тот же вывод
+// разбирается прежним способом — readLine + split(":") на каждую строку.
+// Запуск: java -cp <классы main и test> org.example.NmcliTerseParserBenchmark [повторов]
+public class NmcliTerseParserBenchmark {
+    private static final String FIXTURE = "/nmcli-wifi-list.txt";
+    private static final int WARMUP = 200;
+
+    private static long sink;
+
+    public static void main(String[] args) throws IOException {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        String input = fixture();
+        long lines = input.chars().filter(c -> c == '\n').count();
+        double megabytes = input.getBytes(StandardCharsets.UTF_8).length / (1024.0 * 1024.0);
+        System.out.printf("Вход: %d строк, %.2f МБ, %d повторов%n", lines, megabytes, rounds);
+
+        NmcliTerseParser parser = new NmcliTerseParser();
+        report("NmcliTerseParser", measure(rounds, input, in -> parser.parse(in, n -> sink += n.getSignalStrength())),
+                lines, megabytes);
+        report("split (прежний)", measure(rounds, input, NmcliTerseParserBenchmark::parseSplit), lines, megabytes);
+        if (sink == 42) System.out.println();
+    }
+
+    private interface Parse {
+        void run(Reader in) throws IOException;
+    }
+
+    // Среднее время одного разбора в наносекундах после прогрева
+    private static double measure(int rounds, String input, Parse parse) throws IOException {
+        for (int i = 0; i < WARMUP; i++) parse.run(new StringReader(input));
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) parse.run(new StringReader(input));
+        return (double) (System.nanoTime() - start) / rounds;
+    }
+
+    private static void report(String name, double nanos, long lines, double megabytes) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-18s %8.3f мс/разбор  %,12.0f строк/с  %8.1f МБ/с%n",
+                name, nanos / 1e6, lines / seconds, megabytes / seconds);
+    }
+
+    // Разбор до NmcliTerseParser: строка целиком, split и trim на каждое поле
+    private static void parseSplit(Reader in) throws IOException {
+        BufferedReader reader = new BufferedReader(in);
+        List<WifiNetwork> networks = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split(":", -1);
+            String ssid = parts[0].trim();
+            if (ssid.isEmpty() || ssid.equals("--")) continue;
+            int signal = ScanBackend.parseSignal(parts.length > 1 ? parts[1] : "0");
+            String security = parts.length > 2 ? parts[2].trim() : "Open";
+            String freq = parts.length > 3 ? parts[3].replaceAll("\\D", "") : "";
+            int mhz = freq.isEmpty() ? 0 : Integer.parseInt(freq);
+            String bssid = parts.length > 4 ? parts[4].trim() : "N/A";
+            networks.add(new WifiNetwork(ssid, signal, security, mhz, bssid));
+        }
+        for (WifiNetwork n : networks) sink += n.getSignalStrength();
+    }
+
+    private static String fixture() throws IOException {
+        try (InputStream in = NmcliTerseParserBenchmark.class.getResourceAsStream(FIXTURE)) {
+            if (in == null) throw new IOException("нет " + FIXTURE + " в classpath");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
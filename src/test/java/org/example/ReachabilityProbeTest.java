@@ -0,0 +1,107 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Решение ReachabilityProbe на локальном HTTP-сервере: 204, редирект портала и зависший ответ.
+// Вместо DNS-сервера — локальный ServerSocket, шлюз отключён
+class ReachabilityProbeTest {
+    private static final long TIMEOUT_MS = 500;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ServerSocket dns;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void start() throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        server = HttpServer.create(new InetSocketAddress(loopback, 0), 0);
+        server.createContext("/generate_204", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/portal", exchange -> {
+            exchange.getResponseHeaders().add("Location", "http://portal.example/login");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        // Отвечает только после теста — дольше срока пробы
+        server.createContext("/hang", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        dns = new ServerSocket(0, 50, loopback);
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        dns.close();
+    }
+
+    @Test
+    void noContentIsOnline() {
+        assertEquals(ReachabilityProbe.State.ONLINE, probe("/generate_204", "").probe());
+    }
+
+    @Test
+    void redirectIsCaptivePortal() {
+        assertEquals(ReachabilityProbe.State.CAPTIVE_PORTAL, probe("/portal", "").probe());
+    }
+
+    // Портал пропускает DNS, но соединение с DNS-сервером не должно давать ONLINE
+    @Test
+    void redirectWinsOverReachableDns() {
+        assertEquals(ReachabilityProbe.State.CAPTIVE_PORTAL, probe("/portal", dnsAddress()).probe());
+    }
+
+    @Test
+    void httpTimeoutIsOffline() {
+        assertEquals(ReachabilityProbe.State.OFFLINE, probe("/hang", "").probe());
+    }
+
+    @Test
+    void httpTimeoutWithReachableDnsIsLocalOnly() {
+        assertEquals(ReachabilityProbe.State.LOCAL_ONLY, probe("/hang", dnsAddress()).probe());
+    }
+
+    @Test
+    void withoutHttpProbeDnsDecidesOnline() {
+        ReachabilityProbe probe = new ReachabilityProbe(null, "", dnsAddress(), false, TIMEOUT_MS);
+        assertEquals(ReachabilityProbe.State.ONLINE, probe.probe());
+    }
+
+    private ReachabilityProbe probe(String path, String dnsTargets) {
+        String url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+        return new ReachabilityProbe(null, url, dnsTargets, false, TIMEOUT_MS);
+    }
+
+    private String dnsAddress() {
+        return dns.getInetAddress().getHostAddress() + ":" + dns.getLocalPort();
+    }
+}
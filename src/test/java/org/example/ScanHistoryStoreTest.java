@@ -0,0 +1,72 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Запросы по времени через разреженный индекс: замеры на границе контрольной точки не теряются
+class ScanHistoryStoreTest {
+    private static final int SCANS = 600;
+    private static final int NETWORKS = 100;
+    private static final long START = 1_700_000_000_000L;
+    private static final long STEP = 10_000;
+
+    @TempDir
+    Path dir;
+
+    // Скан занимает ~400 байт, 600 сканов — несколько контрольных точек по 64 КБ.
+    // Запрос ровно на время каждого скана попадает и на время, с которым записана контрольная точка
+    @Test
+    void queryAtEveryScanTimestampReturnsThatScan() throws IOException {
+        ScanHistoryStore store = new ScanHistoryStore(dir.resolve("history.bin"), null);
+        store.open();
+        for (int i = 0; i < SCANS; i++) store.append(scan(i), START + i * STEP);
+        assertTrue(store.getSizeBytes() > 2 * 64 * 1024, "нужно несколько контрольных точек");
+
+        for (int i = 0; i < SCANS; i++) {
+            long ts = START + i * STEP;
+            AtomicInteger count = new AtomicInteger();
+            store.query(ts, ts, (timestamp, station, signal, channel) -> {
+                assertEquals(ts, timestamp);
+                count.incrementAndGet();
+            });
+            assertEquals(NETWORKS, count.get(), "скан #" + i);
+        }
+        store.close();
+    }
+
+    @Test
+    void reopenedStoreAnswersTheSameQueries() throws IOException {
+        Path file = dir.resolve("history.bin");
+        ScanHistoryStore store = new ScanHistoryStore(file, null);
+        store.open();
+        for (int i = 0; i < SCANS; i++) store.append(scan(i), START + i * STEP);
+        store.close();
+
+        ScanHistoryStore reopened = new ScanHistoryStore(file, null);
+        reopened.open();
+        assertEquals((long) SCANS * NETWORKS, reopened.getRecordCount());
+        AtomicInteger count = new AtomicInteger();
+        long from = START + 300 * STEP;
+        reopened.query(from, from + 9 * STEP, (timestamp, station, signal, channel) -> count.incrementAndGet());
+        assertEquals(10 * NETWORKS, count.get());
+        reopened.close();
+    }
+
+    private static List<WifiNetwork> scan(int round) {
+        List<WifiNetwork> networks = new ArrayList<>(NETWORKS);
+        for (int n = 0; n < NETWORKS; n++) {
+            String bssid = String.format("02:00:00:00:%02X:%02X", n >> 8, n & 0xFF);
+            networks.add(new WifiNetwork("net" + n, (round + n) % 100, "WPA2", 2412 + (n % 13) * 5, bssid));
+        }
+        return networks;
+    }
+}